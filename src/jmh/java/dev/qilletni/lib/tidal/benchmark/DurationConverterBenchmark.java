@@ -0,0 +1,31 @@
+package dev.qilletni.lib.tidal.benchmark;
+
+import dev.qilletni.lib.tidal.music.DurationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing the ISO 8601 durations of tracks, which is done once per mapped track.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class DurationConverterBenchmark {
+
+    @Param({"PT2M58S", "PT1H30M", "PT45S", "invalid"})
+    public String duration;
+
+    @Benchmark
+    public int parseDurationToSeconds() {
+        return DurationConverter.parseDurationToSeconds(duration);
+    }
+}
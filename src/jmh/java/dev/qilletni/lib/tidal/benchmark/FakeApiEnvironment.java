@@ -0,0 +1,143 @@
+package dev.qilletni.lib.tidal.benchmark;
+
+import com.tidal.sdk.tidalapi.generated.models.AlbumsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.PlaylistsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.TracksMultiResourceDataDocument;
+import dev.qilletni.lib.tidal.CoroutineHelper;
+import dev.qilletni.lib.tidal.api.TidalApiServices;
+import dev.qilletni.lib.tidal.api.fake.FakeCatalog;
+import dev.qilletni.lib.tidal.api.fake.FakeTidalApiServer;
+import dev.qilletni.lib.tidal.api.oauth.TidalOAuthAuthorizer;
+import dev.qilletni.lib.tidal.config.TidalConfig;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link FakeTidalApiServer} with API services pointed at it, for benchmarks that need real SDK documents or a
+ * working fetcher.
+ */
+public class FakeApiEnvironment implements AutoCloseable {
+
+    /**
+     * The size of every page of relationships, large enough to get whole playlists in a single document.
+     */
+    private static final int PAGE_SIZE = 10_000;
+
+    private final FakeTidalApiServer server;
+    private final ExecutorService executor;
+    private final TidalConfig tidalConfig;
+    private final TidalApiServices apiServices;
+
+    /**
+     * Starts the fake API and creates the services.
+     *
+     * @param trackCount The amount of tracks in the catalog
+     * @param playlistSize The amount of tracks in each playlist
+     * @param configValues Config values to use, on top of the defaults
+     * @throws IOException if the server couldn't be started
+     */
+    public FakeApiEnvironment(int trackCount, int playlistSize, Map<String, String> configValues) throws IOException {
+        var catalog = FakeCatalog.generate(trackCount, 1, playlistSize, 0);
+        server = new FakeTidalApiServer(catalog, new FakeTidalApiServer.Settings(Duration.ZERO, 0, 0, Duration.ZERO, PAGE_SIZE), 0);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Benchmarks shouldn't be throttled or read a stale HTTP cache
+        tidalConfig = new TidalConfig(key -> Optional.ofNullable(configValues.get(key)).or(() -> Optional.ofNullable(switch (key) {
+            case "rateLimitPerSecond", "rateLimitMaxPerSecond" -> "1000000";
+            case "httpCacheSizeMb", "negativeSearchTtlMinutes" -> "0";
+            default -> null;
+        })));
+
+        apiServices = new TidalApiServices(TidalOAuthAuthorizer.createOfflineApiClient(), tidalConfig, executor, server.getBaseUrl(), false);
+    }
+
+    public TidalConfig getTidalConfig() {
+        return tidalConfig;
+    }
+
+    public TidalApiServices getApiServices() {
+        return apiServices;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Creates the IDs of the first tracks of the catalog.
+     *
+     * @param count The amount of IDs
+     * @return The track IDs
+     */
+    public static List<String> createTrackIds(int count) {
+        var ids = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add("tr" + i);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Fetches a single multi-track document with the given tracks, along with their albums and artists.
+     *
+     * @param trackIds The IDs of the tracks
+     * @return The document
+     */
+    public TracksMultiResourceDataDocument fetchTracksDocument(List<String> trackIds) throws InterruptedException {
+        Response<TracksMultiResourceDataDocument> response = CoroutineHelper.runSuspend(cont ->
+                apiServices.getTracks().tracksGet("US", null, List.of("albums", "artists"), null, null, trackIds, cont));
+
+        return requireBody(response);
+    }
+
+    /**
+     * Fetches the items of the catalog's playlist as a single document.
+     *
+     * @return The document
+     */
+    public PlaylistsItemsMultiRelationshipDataDocument fetchPlaylistItemsDocument() throws InterruptedException {
+        Response<PlaylistsItemsMultiRelationshipDataDocument> response = CoroutineHelper.runSuspend(cont ->
+                apiServices.getPlaylists().playlistsIdRelationshipsItemsGet("pl0", "US", null, List.of("items"), cont));
+
+        return requireBody(response);
+    }
+
+    /**
+     * Fetches the items of one of the catalog's albums as a single document. Albums of the fake catalog hold up to 10
+     * tracks.
+     *
+     * @param albumId The ID of the album
+     * @return The document
+     */
+    public AlbumsItemsMultiRelationshipDataDocument fetchAlbumItemsDocument(String albumId) throws InterruptedException {
+        Response<AlbumsItemsMultiRelationshipDataDocument> response = CoroutineHelper.runSuspend(cont ->
+                apiServices.getAlbums().albumsIdRelationshipsItemsGet(albumId, "US", null, List.of("items"), cont));
+
+        return requireBody(response);
+    }
+
+    private static <T> T requireBody(Response<T> response) {
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IllegalStateException("Fake API request failed with " + response.code());
+        }
+
+        return response.body();
+    }
+
+    @Override
+    public void close() {
+        apiServices.shutdown();
+        server.close();
+        executor.shutdownNow();
+    }
+}
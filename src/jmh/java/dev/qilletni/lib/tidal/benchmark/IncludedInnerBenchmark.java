@@ -0,0 +1,83 @@
+package dev.qilletni.lib.tidal.benchmark;
+
+import com.tidal.sdk.tidalapi.generated.models.ArtistsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.IncludedInner;
+import com.tidal.sdk.tidalapi.generated.models.ResourceIdentifier;
+import com.tidal.sdk.tidalapi.generated.models.TracksResourceObject;
+import dev.qilletni.lib.tidal.api.helper.IncludedInnerWrapper;
+import dev.qilletni.lib.tidal.api.helper.ModelHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building an {@link IncludedInnerWrapper} from the {@code included} array of a multi-track document, and
+ * looking up the included resources of every track.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class IncludedInnerBenchmark {
+
+    @Param({"20", "1000"})
+    public int trackCount;
+
+    private List<IncludedInner> included;
+    private List<TracksResourceObject> tracks;
+    private List<ResourceIdentifier> artistIdentifiers;
+    private IncludedInnerWrapper wrapper;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        try (var environment = new FakeApiEnvironment(trackCount, 0, Map.of())) {
+            var document = environment.fetchTracksDocument(FakeApiEnvironment.createTrackIds(trackCount));
+            included = document.getIncluded();
+            tracks = document.getData();
+        }
+
+        artistIdentifiers = new ArrayList<>();
+        for (var track : tracks) {
+            artistIdentifiers.addAll(track.getRelationships().getArtists().getData());
+        }
+
+        wrapper = new IncludedInnerWrapper(included);
+    }
+
+    @Benchmark
+    public IncludedInnerWrapper construct() {
+        return new IncludedInnerWrapper(included);
+    }
+
+    @Benchmark
+    public void lookupArtists(Blackhole blackhole) {
+        for (var artistIdentifier : artistIdentifiers) {
+            blackhole.consume(wrapper.getInner(artistIdentifier.getId(), ArtistsResourceObject.class));
+        }
+    }
+
+    @Benchmark
+    public void findArtists(Blackhole blackhole) {
+        for (var artistIdentifier : artistIdentifiers) {
+            blackhole.consume(wrapper.find(artistIdentifier.getId(), ArtistsResourceObject.class));
+        }
+    }
+
+    @Benchmark
+    public List<ArtistsResourceObject> collectIncludeInners() {
+        return ModelHelper.collectIncludeInners(wrapper, artistIdentifiers, ArtistsResourceObject.class);
+    }
+}
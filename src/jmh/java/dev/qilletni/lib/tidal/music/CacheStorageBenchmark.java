@@ -0,0 +1,102 @@
+package dev.qilletni.lib.tidal.music;
+
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.api.ratelimit.AdaptiveRateLimiter;
+import dev.qilletni.lib.tidal.benchmark.FakeApiEnvironment;
+import dev.qilletni.lib.tidal.database.HibernateUtil;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import dev.qilletni.lib.tidal.music.cache.EvictionPolicy;
+import dev.qilletni.lib.tidal.music.cache.NegativeSearchCache;
+import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
+import dev.qilletni.lib.tidal.music.entities.TidalArtist;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks storing tracks and looking them up by ID against an embedded PostgreSQL database. The in-memory entity
+ * caches are disabled, so every lookup reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CacheStorageBenchmark {
+
+    @Param({"100", "1000"})
+    public int trackCount;
+
+    private EmbeddedPostgres postgres;
+    private FakeApiEnvironment environment;
+    private TidalMusicCache cache;
+    private List<String> storedTrackIds;
+
+    // Each invocation of storeNewTracks stores tracks with IDs not used before
+    private int storeRound;
+    private List<Track> newTracks;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        HibernateUtil.initializeSessionFactory(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", 50);
+
+        environment = new FakeApiEnvironment(trackCount, 0, Map.of("cacheMaxEntries", "0"));
+
+        var tidalConfig = environment.getTidalConfig();
+        var negativeSearchCache = new NegativeSearchCache(Duration.ZERO, 0, EvictionPolicy.LRU, tidalConfig.getDatabaseLookupChunkSize());
+        var fetcher = new TidalMusicFetcher("US", environment.getApiServices(), null, tidalConfig,
+                new AdaptiveRateLimiter(tidalConfig.getRateLimit(), tidalConfig.getRateLimitMax()),
+                environment.getExecutor(), new TidalMetrics());
+
+        cache = new TidalMusicCache(fetcher, tidalConfig, negativeSearchCache, environment.getExecutor(), new TidalMetrics());
+
+        // Fetches the tracks from the fake API once, storing them for the lookups
+        storedTrackIds = FakeApiEnvironment.createTrackIds(trackCount);
+        cache.getTracksById(storedTrackIds);
+    }
+
+    @Setup(Level.Invocation)
+    public void createNewTracks() {
+        var round = storeRound++;
+        var artist = new TidalArtist("bench-ar" + round, "Benchmark Artist " + round);
+        var album = new TidalAlbum("bench-al" + round, "Benchmark Album " + round, List.of(artist));
+
+        newTracks = new ArrayList<>(trackCount);
+        for (int i = 0; i < trackCount; i++) {
+            newTracks.add(new TidalTrack("bench-tr" + round + "-" + i, "Benchmark Track " + i, List.of(artist), album, 180));
+        }
+    }
+
+    @Benchmark
+    public List<Track> getTracksById() {
+        return cache.getTracksById(storedTrackIds);
+    }
+
+    @Benchmark
+    public TidalMusicCache.StoredTracks storeNewTracks() {
+        return cache.storeTracks(newTracks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        environment.close();
+        HibernateUtil.getSessionFactory().close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.qilletni.lib.tidal.music;
+
+import com.tidal.sdk.tidalapi.generated.models.AlbumsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.PlaylistsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.TracksMultiResourceDataDocument;
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.api.ratelimit.AdaptiveRateLimiter;
+import dev.qilletni.lib.tidal.benchmark.FakeApiEnvironment;
+import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mapping large SDK documents to entities, as done for every page of tracks fetched. Album track lists are
+ * a single album of the fake catalog, which holds at most 10 tracks whatever the track count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class FetcherMappingBenchmark {
+
+    @Param({"20", "1000"})
+    public int trackCount;
+
+    private FakeApiEnvironment environment;
+    private TidalMusicFetcher fetcher;
+    private TracksMultiResourceDataDocument tracksDocument;
+    private PlaylistsItemsMultiRelationshipDataDocument playlistItemsDocument;
+    private TidalAlbum album;
+    private AlbumsItemsMultiRelationshipDataDocument albumItemsDocument;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        environment = new FakeApiEnvironment(trackCount, trackCount, Map.of());
+
+        var tidalConfig = environment.getTidalConfig();
+        fetcher = new TidalMusicFetcher("US", environment.getApiServices(), null, tidalConfig,
+                new AdaptiveRateLimiter(tidalConfig.getRateLimit(), tidalConfig.getRateLimitMax()),
+                environment.getExecutor(), new TidalMetrics());
+
+        tracksDocument = environment.fetchTracksDocument(FakeApiEnvironment.createTrackIds(trackCount));
+        playlistItemsDocument = environment.fetchPlaylistItemsDocument();
+        album = new TidalAlbum("al0", "Album 0", List.of());
+        albumItemsDocument = environment.fetchAlbumItemsDocument(album.getId());
+    }
+
+    @Benchmark
+    public List<Track> createTrackList() {
+        return fetcher.createTrackList(tracksDocument.getData(), tracksDocument.getIncluded());
+    }
+
+    @Benchmark
+    public List<Track> createPlaylistTrackList() {
+        return fetcher.createPlaylistTrackList(playlistItemsDocument);
+    }
+
+    @Benchmark
+    public List<Track> createAlbumTrackList() {
+        return fetcher.createAlbumTrackList(album, albumItemsDocument);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+}
@@ -3,13 +3,21 @@ package dev.qilletni.lib.tidal;
 import kotlin.coroutines.Continuation;
 import kotlin.coroutines.EmptyCoroutineContext;
 import kotlinx.coroutines.BuildersKt;
-import retrofit2.Response;
+import kotlinx.coroutines.CoroutineScope;
+import kotlinx.coroutines.CoroutineScopeKt;
+import kotlinx.coroutines.CoroutineStart;
+import kotlinx.coroutines.ExecutorsKt;
+import kotlinx.coroutines.SupervisorKt;
+import kotlinx.coroutines.future.FutureKt;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
  * Helper class for calling Kotlin suspend functions from Java code.
- * Uses kotlinx.coroutines.runBlocking to execute suspend functions synchronously.
+ * Suspend functions can either be run synchronously with kotlinx.coroutines.runBlocking, or asynchronously on a coroutine
+ * scope without blocking the calling thread.
  */
 public class CoroutineHelper {
 
@@ -33,4 +41,40 @@ public class CoroutineHelper {
             (scope, continuation) -> suspendCall.apply(continuation)
         );
     }
+
+    /**
+     * Creates a coroutine scope that runs its coroutines on the given executor. A failed call doesn't cancel the
+     * other calls in the scope.
+     *
+     * @param executor The executor to run coroutines on
+     * @return The created scope
+     */
+    public static CoroutineScope createScope(Executor executor) {
+        return CoroutineScopeKt.CoroutineScope(SupervisorKt.SupervisorJob(null).plus(ExecutorsKt.from(executor)));
+    }
+
+    /**
+     * Starts a suspend function on a coroutine scope, without blocking the calling thread. While the function
+     * is suspended, such as while waiting on a response, no thread is held. Cancelling the returned future cancels
+     * the coroutine.
+     * <p>
+     * Usage example:
+     * <pre>
+     * CoroutineHelper.runSuspendAsync(scope, cont -> api.suspendMethod("param1", "param2", cont))
+     *         .thenAccept(response -> ...);
+     * </pre>
+     *
+     * @param scope The scope to start the suspend function in
+     * @param suspendCall A function that takes a Continuation and calls the suspend function
+     * @param <T> The return type
+     * @return A future completing with the result of the suspend function
+     */
+    public static <T> CompletableFuture<T> runSuspendAsync(CoroutineScope scope, Function<Continuation<? super T>, Object> suspendCall) {
+        return FutureKt.future(
+            scope,
+            EmptyCoroutineContext.INSTANCE,
+            CoroutineStart.DEFAULT,
+            (coroutineScope, continuation) -> suspendCall.apply(continuation)
+        );
+    }
 }
@@ -0,0 +1,40 @@
+package dev.qilletni.lib.tidal;
+
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import dev.qilletni.lib.tidal.music.provider.TidalServiceProvider;
+
+/**
+ * Native functions for reading the Tidal provider's metrics from Qilletni.
+ */
+public class MetricsFunctions {
+
+    /**
+     * Gets every metric value, one per line as {@code name{label="value"} value}.
+     *
+     * @return The current metric values
+     */
+    public String getTidalMetrics() {
+        return getMetrics().formatSamples();
+    }
+
+    /**
+     * Gets the total of a metric across all of its labels, such as {@code tidal_cache_entities_total}. Histograms are
+     * read by their {@code _count} or {@code _sum}, such as {@code tidal_api_request_seconds_count}.
+     * <p>
+     * Cache hit ratios are computed from {@code tidal_cache_entities_total}, whose {@code source} label tells where
+     * each requested entity was found: {@code memory}, {@code database}, {@code api}, {@code shared} (loaded by a
+     * concurrent lookup), or {@code missing}. As this sums across labels, use {@link #getTidalMetrics()} to read the
+     * counts per source, then divide the {@code memory} and {@code database} counts by the total. Database latency per
+     * cache operation is in {@code tidal_db_transaction_seconds}, labeled by {@code operation}.
+     *
+     * @param name The name of the metric
+     * @return The total value of the metric, or {@code 0} if it has no values
+     */
+    public double getTidalMetric(String name) {
+        return getMetrics().getTotal(name);
+    }
+
+    private static TidalMetrics getMetrics() {
+        return ((TidalServiceProvider) TidalServiceProvider.getServiceProviderInstance()).getMetrics();
+    }
+}
@@ -0,0 +1,307 @@
+package dev.qilletni.lib.tidal.api;
+
+import com.tidal.sdk.tidalapi.generated.TidalApiClient;
+import com.tidal.sdk.tidalapi.generated.apis.Albums;
+import com.tidal.sdk.tidalapi.generated.apis.Artists;
+import com.tidal.sdk.tidalapi.generated.apis.Playlists;
+import com.tidal.sdk.tidalapi.generated.apis.SearchResults;
+import com.tidal.sdk.tidalapi.generated.apis.Tracks;
+import com.tidal.sdk.tidalapi.generated.apis.UserCollections;
+import dev.qilletni.lib.tidal.api.http.CatalogCacheInterceptor;
+import dev.qilletni.lib.tidal.api.http.TrafficArchive;
+import dev.qilletni.lib.tidal.api.http.TrafficMode;
+import dev.qilletni.lib.tidal.api.http.TrafficRecordingInterceptor;
+import dev.qilletni.lib.tidal.api.http.TrafficReplayInterceptor;
+import dev.qilletni.lib.tidal.config.TidalConfig;
+import kotlin.Lazy;
+import okhttp3.Authenticator;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The API services used to fetch music, each created once and shared for the lifetime of the provider.
+ * <p>
+ * When possible, the services are created on a copy of the {@link TidalApiClient}'s HTTP client that is tuned with the
+ * HTTP settings of the {@link TidalConfig}, keeping the client's authentication. The SDK doesn't expose its HTTP client,
+ * so it is looked up in the client's fields. If it can't be found, the services are created by the
+ * {@link TidalApiClient} with its default transport, ignoring the HTTP settings. Settings the default transport can't
+ * honor at all, such as another base URL or recording traffic, fail instead.
+ */
+public class TidalApiServices {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TidalApiServices.class);
+
+    private final Tracks tracks;
+    private final Albums albums;
+    private final Artists artists;
+    private final Playlists playlists;
+    private final SearchResults searchResults;
+    private final UserCollections userCollections;
+
+    private final OkHttpClient httpClient;
+
+    // Open while API traffic is being recorded
+    private TrafficArchive.Writer trafficArchiveWriter;
+
+    /**
+     * Creates the API services for the configured API base URL.
+     *
+     * @param tidalApi The authorized API client
+     * @param tidalConfig The config to read the HTTP settings from
+     * @param httpExecutor The executor HTTP requests are sent on
+     */
+    public TidalApiServices(TidalApiClient tidalApi, TidalConfig tidalConfig, ExecutorService httpExecutor) {
+        this(tidalApi, tidalConfig, httpExecutor, tidalConfig.getApiBaseUrl(), true);
+    }
+
+    /**
+     * Creates the API services.
+     *
+     * @param tidalApi The API client
+     * @param tidalConfig The config to read the HTTP settings from
+     * @param httpExecutor The executor HTTP requests are sent on
+     * @param baseUrl The base URL of the API, ending with a slash
+     * @param authorized If requests are authorized. Unauthorized requests skip the SDK's interceptors, for APIs that
+     *                   don't check authorization such as the {@link dev.qilletni.lib.tidal.api.fake.FakeTidalApiServer}
+     */
+    public TidalApiServices(TidalApiClient tidalApi, TidalConfig tidalConfig, ExecutorService httpExecutor, String baseUrl, boolean authorized) {
+        var retrofit = findRetrofit(tidalApi)
+                .filter(sdkRetrofit -> sdkRetrofit.callFactory() instanceof OkHttpClient);
+
+        if (retrofit.isPresent()) {
+            var trafficInterceptor = createTrafficInterceptor(tidalConfig);
+            httpClient = createHttpClient((OkHttpClient) retrofit.get().callFactory(), tidalConfig, httpExecutor, trafficInterceptor, authorized);
+
+            var tunedRetrofit = retrofit.get().newBuilder()
+                    .baseUrl(baseUrl)
+                    .client(httpClient)
+                    .build();
+
+            tracks = tunedRetrofit.create(Tracks.class);
+            albums = tunedRetrofit.create(Albums.class);
+            artists = tunedRetrofit.create(Artists.class);
+            playlists = tunedRetrofit.create(Playlists.class);
+            searchResults = tunedRetrofit.create(SearchResults.class);
+            userCollections = tunedRetrofit.create(UserCollections.class);
+        } else {
+            // Falling back would silently send these requests to the real API instead
+            if (tidalConfig.getTrafficMode() != TrafficMode.OFF) {
+                throw new IllegalStateException("Couldn't find the HTTP client of the Tidal API client, API traffic can't be %s with its default transport"
+                        .formatted(tidalConfig.getTrafficMode() == TrafficMode.RECORD ? "recorded" : "replayed"));
+            }
+
+            if (!authorized || !baseUrl.equals(TidalApiClient.DEFAULT_BASE_URL)) {
+                throw new IllegalStateException("Couldn't find the HTTP client of the Tidal API client, its default transport can't send requests to " + baseUrl);
+            }
+
+            LOGGER.warn("Couldn't find the HTTP client of the Tidal API client, using its default transport. The httpMaxRequests, httpMaxIdleConnections, httpKeepAliveSeconds, httpHttp2, httpGzip, and httpCacheSizeMb settings are ignored");
+
+            httpClient = null;
+
+            tracks = tidalApi.createTracks();
+            albums = tidalApi.createAlbums();
+            artists = tidalApi.createArtists();
+            playlists = tidalApi.createPlaylists();
+            searchResults = tidalApi.createSearchResults();
+            userCollections = tidalApi.createUserCollections();
+        }
+    }
+
+    public Tracks getTracks() {
+        return tracks;
+    }
+
+    public Albums getAlbums() {
+        return albums;
+    }
+
+    public Artists getArtists() {
+        return artists;
+    }
+
+    public Playlists getPlaylists() {
+        return playlists;
+    }
+
+    public SearchResults getSearchResults() {
+        return searchResults;
+    }
+
+    public UserCollections getUserCollections() {
+        return userCollections;
+    }
+
+    /**
+     * Closes the idle connections of the tuned HTTP client and the HTTP cache. Requests that are still queued are
+     * dropped.
+     */
+    public void shutdown() {
+        if (httpClient != null) {
+            httpClient.dispatcher().cancelAll();
+            httpClient.connectionPool().evictAll();
+
+            var cache = httpClient.cache();
+            if (cache != null) {
+                try {
+                    cache.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to close the HTTP cache", e);
+                }
+            }
+        }
+
+        if (trafficArchiveWriter != null) {
+            try {
+                trafficArchiveWriter.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close the traffic archive", e);
+            }
+        }
+    }
+
+    /**
+     * Creates the interceptor that records or replays API traffic, depending on the traffic mode.
+     *
+     * @param tidalConfig The config to read the traffic settings from
+     * @return The created interceptor, or null if traffic is neither recorded nor replayed
+     */
+    @Nullable
+    private Interceptor createTrafficInterceptor(TidalConfig tidalConfig) {
+        var archivePath = tidalConfig.getTrafficArchive();
+
+        return switch (tidalConfig.getTrafficMode()) {
+            case OFF -> null;
+            case RECORD -> {
+                try {
+                    trafficArchiveWriter = TrafficArchive.openWriter(archivePath);
+                    LOGGER.info("Recording API traffic to {}", archivePath);
+
+                    yield new TrafficRecordingInterceptor(trafficArchiveWriter);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to open traffic archive " + archivePath, e);
+                }
+            }
+            case REPLAY -> {
+                try {
+                    var exchanges = TrafficArchive.readAll(archivePath);
+                    LOGGER.info("Replaying {} recorded exchanges from {}", exchanges.size(), archivePath);
+
+                    yield new TrafficReplayInterceptor(exchanges, tidalConfig.getTrafficReplayLatency());
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read traffic archive " + archivePath, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Copies the SDK's HTTP client, keeping its interceptors and timeouts, with the configured connection pool,
+     * request limits, protocols, and HTTP cache.
+     *
+     * @param sdkClient The HTTP client the SDK created
+     * @param tidalConfig The config to read the HTTP settings from
+     * @param httpExecutor The executor HTTP requests are sent on
+     * @param trafficInterceptor The interceptor recording or replaying traffic, if any
+     * @param authorized If the SDK's interceptors, which authorize requests, are kept
+     * @return The tuned HTTP client
+     */
+    private static OkHttpClient createHttpClient(OkHttpClient sdkClient, TidalConfig tidalConfig, ExecutorService httpExecutor, @Nullable Interceptor trafficInterceptor, boolean authorized) {
+        var maxRequests = Math.max(1, tidalConfig.getHttpMaxRequests());
+
+        // The API is a single host, so the per-host limit is the same as the overall limit
+        var dispatcher = new Dispatcher(httpExecutor);
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+
+        var builder = sdkClient.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(Math.max(0, tidalConfig.getHttpMaxIdleConnections()), tidalConfig.getHttpKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .protocols(tidalConfig.isHttp2Enabled() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1));
+
+        // Drops the SDK's token interceptors before any of ours are added
+        if (!authorized) {
+            builder.interceptors().clear();
+            builder.authenticator(Authenticator.NONE);
+        }
+
+        var cacheSizeMb = tidalConfig.getHttpCacheSizeMb();
+        if (cacheSizeMb > 0) {
+            var cacheDirectory = tidalConfig.getHttpCacheDirectory();
+            LOGGER.debug("Caching catalog responses in {}, up to {}MB", cacheDirectory, cacheSizeMb);
+
+            builder.cache(new Cache(cacheDirectory.toFile(), cacheSizeMb * 1024L * 1024L))
+                    .addNetworkInterceptor(new CatalogCacheInterceptor());
+        }
+
+        // OkHttp asks for gzip and decompresses it on its own, unless another encoding is requested explicitly
+        if (!tidalConfig.isHttpGzipEnabled()) {
+            builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                    .header("Accept-Encoding", "identity")
+                    .build()));
+        }
+
+        // Runs before the SDK's interceptors, so replayed requests never need a token
+        if (trafficInterceptor != null) {
+            builder.interceptors().add(0, trafficInterceptor);
+        }
+
+        LOGGER.debug("Created tuned HTTP client with {} max requests, HTTP/2 {}", maxRequests, tidalConfig.isHttp2Enabled() ? "enabled" : "disabled");
+
+        return builder.build();
+    }
+
+    /**
+     * Finds the {@link Retrofit} instance the {@link TidalApiClient} creates its services with, as the SDK doesn't
+     * expose it. Only instance fields holding a {@link Retrofit}, or a Kotlin {@link Lazy} that the client has already
+     * initialized, are read.
+     *
+     * @param tidalApi The API client
+     * @return The found instance, if any
+     */
+    private static Optional<Retrofit> findRetrofit(TidalApiClient tidalApi) {
+        // Initializes the Retrofit instance if the client creates it lazily, without forcing any other lazy values
+        tidalApi.createTracks();
+
+        for (Class<?> clazz = tidalApi.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (var field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || (field.getType() != Retrofit.class && field.getType() != Lazy.class)) {
+                    continue;
+                }
+
+                try {
+                    field.setAccessible(true);
+                    var value = field.get(tidalApi);
+
+                    if (value instanceof Retrofit retrofit) {
+                        return Optional.of(retrofit);
+                    }
+
+                    // Kotlin properties declared with "by lazy" are stored as a Lazy
+                    if (value instanceof Lazy<?> lazy && lazy.isInitialized() && lazy.getValue() instanceof Retrofit retrofit) {
+                        return Optional.of(retrofit);
+                    }
+                } catch (IllegalAccessException | InaccessibleObjectException e) {
+                    LOGGER.warn("Couldn't read field {} of the Tidal API client", field.getName(), e);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+}
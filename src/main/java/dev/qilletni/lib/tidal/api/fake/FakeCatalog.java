@@ -0,0 +1,176 @@
+package dev.qilletni.lib.tidal.api.fake;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A synthetic music catalog served by the {@link FakeTidalApiServer}. Every entity has a predictable name, such as
+ * {@code Track 42} by {@code Artist 3}, so scripts can look them up by name.
+ * <p>
+ * The same size and seed always generate the same catalog.
+ */
+public class FakeCatalog {
+
+    /**
+     * The ID of the user that owns every playlist.
+     */
+    public static final String USER_ID = "fake-user";
+
+    private static final String USER_NAME = "Fake User";
+
+    private final Map<String, FakeArtist> artists = new HashMap<>();
+    private final Map<String, FakeAlbum> albums = new HashMap<>();
+    private final Map<String, FakeTrack> tracks = new HashMap<>();
+    private final Map<String, FakePlaylist> playlists = new HashMap<>();
+
+    // Search keys (normalized name, followed by the artist or owner name) to matching IDs
+    private final Map<String, List<String>> trackSearchIndex = new HashMap<>();
+    private final Map<String, List<String>> albumSearchIndex = new HashMap<>();
+    private final Map<String, List<String>> artistSearchIndex = new HashMap<>();
+    private final Map<String, List<String>> playlistSearchIndex = new HashMap<>();
+
+    private final List<String> playlistIds = new ArrayList<>();
+
+    private FakeCatalog() {}
+
+    /**
+     * Generates a catalog. Tracks are grouped into albums of up to 10 tracks, and albums into artists of up to 5
+     * albums. Playlists hold random tracks from the whole catalog.
+     *
+     * @param trackCount The amount of tracks in the catalog
+     * @param playlistCount The amount of playlists in the catalog
+     * @param playlistSize The amount of tracks in each playlist
+     * @param seed The seed of the random track picks and durations
+     * @return The generated catalog
+     */
+    public static FakeCatalog generate(int trackCount, int playlistCount, int playlistSize, long seed) {
+        var catalog = new FakeCatalog();
+        var random = new Random(seed);
+
+        var tracksPerAlbum = 10;
+        var albumsPerArtist = 5;
+
+        var albumCount = Math.max(1, (trackCount + tracksPerAlbum - 1) / tracksPerAlbum);
+        var artistCount = Math.max(1, (albumCount + albumsPerArtist - 1) / albumsPerArtist);
+
+        for (int artistNumber = 0; artistNumber < artistCount; artistNumber++) {
+            var artist = new FakeArtist("ar" + artistNumber, "Artist " + artistNumber);
+            catalog.artists.put(artist.id(), artist);
+            catalog.artistSearchIndex.computeIfAbsent(createSearchKey(artist.name()), key -> new ArrayList<>()).add(artist.id());
+        }
+
+        var trackNumber = 0;
+        for (int albumNumber = 0; albumNumber < albumCount; albumNumber++) {
+            var artist = catalog.artists.get("ar" + (albumNumber / albumsPerArtist));
+            var albumId = "al" + albumNumber;
+
+            var albumTrackIds = new ArrayList<String>(tracksPerAlbum);
+            for (int i = 0; i < tracksPerAlbum && trackNumber < trackCount; i++, trackNumber++) {
+                var track = new FakeTrack("tr" + trackNumber, "Track " + trackNumber, List.of(artist.id()), albumId, 120 + random.nextInt(240));
+                catalog.tracks.put(track.id(), track);
+                catalog.trackSearchIndex.computeIfAbsent(createSearchKey(track.title(), artist.name()), key -> new ArrayList<>()).add(track.id());
+                albumTrackIds.add(track.id());
+            }
+
+            var album = new FakeAlbum(albumId, "Album " + albumNumber, List.of(artist.id()), albumTrackIds);
+            catalog.albums.put(album.id(), album);
+            catalog.albumSearchIndex.computeIfAbsent(createSearchKey(album.title(), artist.name()), key -> new ArrayList<>()).add(album.id());
+        }
+
+        var trackIds = new ArrayList<>(catalog.tracks.keySet());
+        Collections.sort(trackIds);
+
+        for (int playlistNumber = 0; playlistNumber < playlistCount; playlistNumber++) {
+            var playlistTrackIds = new ArrayList<String>(playlistSize);
+            for (int i = 0; i < playlistSize && !trackIds.isEmpty(); i++) {
+                playlistTrackIds.add(trackIds.get(random.nextInt(trackIds.size())));
+            }
+
+            var playlist = new FakePlaylist("pl" + playlistNumber, "Playlist " + playlistNumber, USER_ID, playlistTrackIds, Instant.parse("2024-01-01T00:00:00Z"));
+            catalog.playlists.put(playlist.id(), playlist);
+            catalog.playlistSearchIndex.computeIfAbsent(createSearchKey(playlist.name(), USER_NAME), key -> new ArrayList<>()).add(playlist.id());
+            catalog.playlistIds.add(playlist.id());
+        }
+
+        return catalog;
+    }
+
+    @Nullable
+    public FakeArtist getArtist(String id) {
+        return artists.get(id);
+    }
+
+    @Nullable
+    public FakeAlbum getAlbum(String id) {
+        return albums.get(id);
+    }
+
+    @Nullable
+    public FakeTrack getTrack(String id) {
+        return tracks.get(id);
+    }
+
+    @Nullable
+    public FakePlaylist getPlaylist(String id) {
+        return playlists.get(id);
+    }
+
+    /**
+     * Gets the IDs of every playlist, all owned by {@link #USER_ID}.
+     *
+     * @return The playlist IDs, in the order they were generated
+     */
+    public List<String> getPlaylistIds() {
+        return playlistIds;
+    }
+
+    public String getUserName() {
+        return USER_NAME;
+    }
+
+    public int getTrackCount() {
+        return tracks.size();
+    }
+
+    /**
+     * Searches for tracks by a query of their title followed by their artist's name, as the fetcher searches.
+     *
+     * @param query The search query
+     * @return The IDs of the matching tracks
+     */
+    public List<String> searchTracks(String query) {
+        return trackSearchIndex.getOrDefault(createSearchKey(query), List.of());
+    }
+
+    public List<String> searchAlbums(String query) {
+        return albumSearchIndex.getOrDefault(createSearchKey(query), List.of());
+    }
+
+    public List<String> searchArtists(String query) {
+        return artistSearchIndex.getOrDefault(createSearchKey(query), List.of());
+    }
+
+    public List<String> searchPlaylists(String query) {
+        return playlistSearchIndex.getOrDefault(createSearchKey(query), List.of());
+    }
+
+    private static String createSearchKey(String... parts) {
+        return String.join(" ", parts).trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public record FakeArtist(String id, String name) {}
+
+    public record FakeAlbum(String id, String title, List<String> artistIds, List<String> trackIds) {}
+
+    public record FakeTrack(String id, String title, List<String> artistIds, String albumId, int durationSeconds) {}
+
+    public record FakePlaylist(String id, String name, String ownerId, List<String> trackIds, Instant lastModifiedAt) {}
+}
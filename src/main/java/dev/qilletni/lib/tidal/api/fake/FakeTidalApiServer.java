@@ -0,0 +1,548 @@
+package dev.qilletni.lib.tidal.api.fake;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.qilletni.lib.tidal.api.fake.FakeCatalog.FakeAlbum;
+import dev.qilletni.lib.tidal.api.fake.FakeCatalog.FakeArtist;
+import dev.qilletni.lib.tidal.api.fake.FakeCatalog.FakePlaylist;
+import dev.qilletni.lib.tidal.api.fake.FakeCatalog.FakeTrack;
+import dev.qilletni.lib.tidal.config.TidalConfig;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A local stand-in for the Tidal API, serving a {@link FakeCatalog} over the endpoints the
+ * {@link dev.qilletni.lib.tidal.music.TidalMusicFetcher} uses. Responses are JSON:API documents shaped like the real
+ * API's, with only the attributes the SDK and fetcher need.
+ * <p>
+ * Latency, server errors, and {@code 429} throttling can be injected, for load testing the cache engine without a
+ * network connection or credentials. The server doesn't check authorization and only listens on the loopback address.
+ * <p>
+ * This is test infrastructure: the provider only starts it through {@link #start(TidalConfig)}, which refuses to unless
+ * the {@code fakeApiServer} option is set. Benchmarks create it directly.
+ */
+public class FakeTidalApiServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeTidalApiServer.class);
+
+    private static final String BASE_PATH = "/v2/";
+    private static final String CONTENT_TYPE = "application/vnd.api+json";
+
+    private final FakeCatalog catalog;
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * Starts a fake API server on the loopback address.
+     *
+     * @param catalog The catalog to serve
+     * @param settings The latency, error, and throttling settings
+     * @param port The port to listen on, or {@code 0} for any free port
+     * @throws IOException if the server couldn't be started
+     */
+    public FakeTidalApiServer(FakeCatalog catalog, Settings settings, int port) throws IOException {
+        this.catalog = catalog;
+        this.settings = settings;
+
+        // Injected latency only blocks the virtual thread of its own request
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tidal-fake-api-", 0).factory());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+
+        LOGGER.info("Fake Tidal API serving {} tracks at {}", catalog.getTrackCount(), getBaseUrl());
+    }
+
+    /**
+     * Starts a fake API server with a generated catalog, as configured by the {@code fakeApiServer} options.
+     *
+     * @param tidalConfig The config to read the catalog size, port, and latency, error, and throttling settings from
+     * @return The started server
+     * @throws IllegalStateException if the {@code fakeApiServer} option isn't set
+     */
+    public static FakeTidalApiServer start(TidalConfig tidalConfig) {
+        if (!tidalConfig.isFakeApiServerEnabled()) {
+            throw new IllegalStateException("The fake Tidal API server is only started when the fakeApiServer option is set");
+        }
+
+        var catalog = FakeCatalog.generate(tidalConfig.getFakeCatalogTracks(), tidalConfig.getFakeCatalogPlaylists(), tidalConfig.getFakeCatalogPlaylistSize(), 0);
+        var settings = new Settings(
+                tidalConfig.getFakeApiLatency(),
+                tidalConfig.getFakeApiErrorPercent() / 100.0,
+                tidalConfig.getFakeApiThrottlePercent() / 100.0,
+                Duration.ofSeconds(1),
+                100);
+
+        try {
+            return new FakeTidalApiServer(catalog, settings, tidalConfig.getFakeApiServerPort());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start the fake Tidal API server", e);
+        }
+    }
+
+    /**
+     * Gets the base URL to point the API client at.
+     *
+     * @return The base URL, ending with a slash
+     */
+    public String getBaseUrl() {
+        return "http://%s:%d%s".formatted(server.getAddress().getHostString(), server.getAddress().getPort(), BASE_PATH);
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                respond(exchange);
+            } catch (RuntimeException e) {
+                LOGGER.error("Fake API failed to handle {}", exchange.getRequestURI(), e);
+
+                // The response can only be replaced if nothing was sent yet
+                if (exchange.getResponseCode() == -1) {
+                    sendJson(exchange, 500, createErrors("INTERNAL_SERVER_ERROR", "Fake API failed to handle the request: " + e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException, InterruptedException {
+        requestCount.incrementAndGet();
+
+        if (!settings.latency().isZero()) {
+            Thread.sleep(settings.latency());
+        }
+
+        var random = ThreadLocalRandom.current();
+        if (random.nextDouble() < settings.throttleRate()) {
+            throttledCount.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(Math.max(0, settings.retryAfter().toSeconds())));
+            sendJson(exchange, 429, createErrors("TOO_MANY_REQUESTS", "Throttled by the fake API"));
+            return;
+        }
+
+        if (random.nextDouble() < settings.errorRate()) {
+            errorCount.incrementAndGet();
+            sendJson(exchange, 500, createErrors("INTERNAL_SERVER_ERROR", "Injected by the fake API"));
+            return;
+        }
+
+        var path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+        var segments = new ArrayList<String>();
+        for (var segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+
+        var query = parseQuery(exchange.getRequestURI().getRawQuery());
+        var document = route(segments, query);
+
+        if (document == null) {
+            sendJson(exchange, 404, createErrors("NOT_FOUND", "No resource at " + exchange.getRequestURI().getPath()));
+        } else {
+            sendJson(exchange, 200, document);
+        }
+    }
+
+    @Nullable
+    private JsonObject route(List<String> segments, Map<String, List<String>> query) {
+        if (segments.isEmpty()) {
+            return null;
+        }
+
+        var resource = segments.getFirst();
+        var cursor = getFirst(query, "page[cursor]");
+
+        return switch (segments.size()) {
+            case 1 -> switch (resource) {
+                case "tracks" -> createMultiDocument(getIds(query), catalog::getTrack, this::createTrackResource, this::includeTrackRelations);
+                case "albums" -> createMultiDocument(getIds(query), catalog::getAlbum, this::createAlbumResource, this::includeAlbumRelations);
+                case "artists" -> createMultiDocument(getIds(query), catalog::getArtist, this::createArtistResource, (artist, included) -> {});
+                default -> null;
+            };
+            case 2 -> {
+                var id = segments.get(1);
+                yield switch (resource) {
+                    case "searchResults" -> createSearchDocument(id);
+                    case "tracks" -> createSingleDocument(catalog.getTrack(id), this::createTrackResource, this::includeTrackRelations);
+                    case "albums" -> createSingleDocument(catalog.getAlbum(id), this::createAlbumResource, this::includeAlbumRelations);
+                    case "artists" -> createSingleDocument(catalog.getArtist(id), this::createArtistResource, (artist, included) -> {});
+                    case "playlists" -> createSingleDocument(catalog.getPlaylist(id), this::createPlaylistResource, (playlist, included) -> included.add(createUserResource()));
+                    case "users" -> id.equals("me") || id.equals(FakeCatalog.USER_ID) ? createDocument(createUserResource(), new JsonArray()) : null;
+                    default -> null;
+                };
+            }
+            case 4 -> {
+                if (!segments.get(2).equals("relationships")) {
+                    yield null;
+                }
+
+                var id = segments.get(1);
+                var relationship = segments.get(3);
+
+                if (resource.equals("albums") && relationship.equals("items")) {
+                    var album = catalog.getAlbum(id);
+                    yield album == null ? null : createRelationshipPage(segments, album.trackIds(), "tracks", cursor, this::createTrackItem);
+                }
+
+                if (resource.equals("playlists") && relationship.equals("items")) {
+                    var playlist = catalog.getPlaylist(id);
+                    yield playlist == null ? null : createRelationshipPage(segments, playlist.trackIds(), "tracks", cursor, this::createTrackItem);
+                }
+
+                if (resource.equals("userCollections") && relationship.equals("playlists")) {
+                    yield createRelationshipPage(segments, catalog.getPlaylistIds(), "playlists", cursor, playlistId -> createPlaylistResource(catalog.getPlaylist(playlistId)));
+                }
+
+                yield null;
+            }
+            default -> null;
+        };
+    }
+
+    private JsonObject createSearchDocument(String searchQuery) {
+        var relationships = new JsonObject();
+        relationships.add("tracks", createRelationship(catalog.searchTracks(searchQuery), "tracks"));
+        relationships.add("albums", createRelationship(catalog.searchAlbums(searchQuery), "albums"));
+        relationships.add("artists", createRelationship(catalog.searchArtists(searchQuery), "artists"));
+        relationships.add("playlists", createRelationship(catalog.searchPlaylists(searchQuery), "playlists"));
+
+        var data = createResource(searchQuery, "searchResults", new JsonObject());
+        data.add("relationships", relationships);
+
+        return createDocument(data, new JsonArray());
+    }
+
+    @Nullable
+    private <E> JsonObject createSingleDocument(@Nullable E entity, Function<E, JsonObject> resourceCreator, Includer<E> includer) {
+        if (entity == null) {
+            return null;
+        }
+
+        var included = new JsonArray();
+        includer.include(entity, included);
+
+        return createDocument(resourceCreator.apply(entity), included);
+    }
+
+    private <E> JsonObject createMultiDocument(List<String> ids, Function<String, E> lookup, Function<E, JsonObject> resourceCreator, Includer<E> includer) {
+        var data = new JsonArray();
+        var included = new JsonArray();
+
+        for (var id : ids) {
+            var entity = lookup.apply(id);
+            if (entity != null) {
+                data.add(resourceCreator.apply(entity));
+                includer.include(entity, included);
+            }
+        }
+
+        return createDocument(data, deduplicate(included));
+    }
+
+    /**
+     * Creates a page of a relationship, with the related resources as identifiers in {@code data} and as full
+     * resources in {@code included}. The cursor is the index of the first item of the page.
+     */
+    private JsonObject createRelationshipPage(List<String> segments, List<String> ids, String type, @Nullable String cursor, Function<String, JsonObject> includedCreator) {
+        var start = 0;
+        if (cursor != null) {
+            try {
+                start = Math.max(0, Integer.parseInt(cursor));
+            } catch (NumberFormatException e) {
+                start = ids.size();
+            }
+        }
+
+        var end = Math.min(ids.size(), start + Math.max(1, settings.pageSize()));
+
+        var data = new JsonArray();
+        var included = new JsonArray();
+        for (int i = start; i < end; i++) {
+            var identifier = new JsonObject();
+            identifier.addProperty("id", ids.get(i));
+            identifier.addProperty("type", type);
+            data.add(identifier);
+
+            included.add(includedCreator.apply(ids.get(i)));
+        }
+
+        var document = createDocument(data, deduplicate(included));
+
+        var links = new JsonObject();
+        var selfPath = "/" + String.join("/", segments);
+        links.addProperty("self", selfPath);
+        if (end < ids.size()) {
+            links.addProperty("next", selfPath + "?page[cursor]=" + end);
+        }
+
+        document.add("links", links);
+
+        return document;
+    }
+
+    private JsonObject createTrackItem(String trackId) {
+        return createTrackResource(catalog.getTrack(trackId));
+    }
+
+    private void includeTrackRelations(FakeTrack track, JsonArray included) {
+        for (var artistId : track.artistIds()) {
+            included.add(createArtistResource(catalog.getArtist(artistId)));
+        }
+
+        included.add(createAlbumResource(catalog.getAlbum(track.albumId())));
+    }
+
+    private void includeAlbumRelations(FakeAlbum album, JsonArray included) {
+        for (var artistId : album.artistIds()) {
+            included.add(createArtistResource(catalog.getArtist(artistId)));
+        }
+    }
+
+    private JsonObject createTrackResource(FakeTrack track) {
+        var attributes = new JsonObject();
+        attributes.addProperty("title", track.title());
+        attributes.addProperty("isrc", "FAKE%08d".formatted(Math.abs(track.id().hashCode()) % 100_000_000));
+        attributes.addProperty("duration", Duration.ofSeconds(track.durationSeconds()).toString());
+        attributes.addProperty("explicit", false);
+        attributes.addProperty("popularity", 0.5);
+        attributes.add("mediaTags", new JsonArray());
+
+        var resource = createResource(track.id(), "tracks", attributes);
+
+        var relationships = new JsonObject();
+        relationships.add("artists", createRelationship(track.artistIds(), "artists"));
+        relationships.add("albums", createRelationship(List.of(track.albumId()), "albums"));
+        resource.add("relationships", relationships);
+
+        return resource;
+    }
+
+    private JsonObject createAlbumResource(FakeAlbum album) {
+        var attributes = new JsonObject();
+        attributes.addProperty("title", album.title());
+        attributes.addProperty("barcodeId", "0000" + album.id());
+        attributes.addProperty("numberOfVolumes", 1);
+        attributes.addProperty("numberOfItems", album.trackIds().size());
+        attributes.addProperty("duration", "PT30M");
+        attributes.addProperty("explicit", false);
+        attributes.addProperty("popularity", 0.5);
+        attributes.addProperty("type", "ALBUM");
+        attributes.add("mediaTags", new JsonArray());
+
+        var resource = createResource(album.id(), "albums", attributes);
+
+        var relationships = new JsonObject();
+        relationships.add("artists", createRelationship(album.artistIds(), "artists"));
+        resource.add("relationships", relationships);
+
+        return resource;
+    }
+
+    private JsonObject createArtistResource(FakeArtist artist) {
+        var attributes = new JsonObject();
+        attributes.addProperty("name", artist.name());
+        attributes.addProperty("popularity", 0.5);
+
+        return createResource(artist.id(), "artists", attributes);
+    }
+
+    private JsonObject createPlaylistResource(FakePlaylist playlist) {
+        var attributes = new JsonObject();
+        attributes.addProperty("name", playlist.name());
+        attributes.addProperty("bounded", true);
+        attributes.addProperty("numberOfItems", playlist.trackIds().size());
+        attributes.addProperty("createdAt", playlist.lastModifiedAt().toString());
+        attributes.addProperty("lastModifiedAt", playlist.lastModifiedAt().toString());
+        attributes.addProperty("privacy", "PUBLIC");
+        attributes.addProperty("accessType", "PUBLIC");
+        attributes.addProperty("playlistType", "USER");
+        attributes.add("externalLinks", new JsonArray());
+
+        var resource = createResource(playlist.id(), "playlists", attributes);
+
+        var relationships = new JsonObject();
+        relationships.add("owners", createRelationship(List.of(playlist.ownerId()), "users"));
+        resource.add("relationships", relationships);
+
+        return resource;
+    }
+
+    private JsonObject createUserResource() {
+        var attributes = new JsonObject();
+        attributes.addProperty("username", catalog.getUserName());
+        attributes.addProperty("country", "US");
+
+        return createResource(FakeCatalog.USER_ID, "users", attributes);
+    }
+
+    private static JsonObject createResource(String id, String type, JsonObject attributes) {
+        var resource = new JsonObject();
+        resource.addProperty("id", id);
+        resource.addProperty("type", type);
+        resource.add("attributes", attributes);
+        return resource;
+    }
+
+    private static JsonObject createRelationship(List<String> ids, String type) {
+        var data = new JsonArray(ids.size());
+        for (var id : ids) {
+            var identifier = new JsonObject();
+            identifier.addProperty("id", id);
+            identifier.addProperty("type", type);
+            data.add(identifier);
+        }
+
+        var relationship = new JsonObject();
+        relationship.add("data", data);
+        relationship.add("links", new JsonObject());
+        return relationship;
+    }
+
+    private static JsonObject createDocument(JsonElement data, JsonArray included) {
+        var document = new JsonObject();
+        document.add("data", data);
+        document.add("included", included);
+        document.add("links", new JsonObject());
+        return document;
+    }
+
+    private static JsonObject createErrors(String code, String detail) {
+        var error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("detail", detail);
+
+        var errors = new JsonArray();
+        errors.add(error);
+
+        var document = new JsonObject();
+        document.add("errors", errors);
+        return document;
+    }
+
+    /**
+     * Removes repeated resources from an {@code included} array, as related resources are shared between items.
+     */
+    private static JsonArray deduplicate(JsonArray included) {
+        var unique = new LinkedHashMap<String, JsonElement>();
+        for (var resource : included) {
+            var object = resource.getAsJsonObject();
+            unique.putIfAbsent(object.get("type").getAsString() + ":" + object.get("id").getAsString(), resource);
+        }
+
+        var deduplicated = new JsonArray(unique.size());
+        unique.values().forEach(deduplicated::add);
+        return deduplicated;
+    }
+
+    private static List<String> getIds(Map<String, List<String>> query) {
+        var ids = new ArrayList<String>();
+
+        // Lists may be sent as repeated parameters or comma separated
+        for (var value : query.getOrDefault("filter[id]", List.of())) {
+            for (var id : value.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    @Nullable
+    private static String getFirst(Map<String, List<String>> query, String name) {
+        var values = query.get(name);
+        return values == null || values.isEmpty() ? null : values.getFirst();
+    }
+
+    private static Map<String, List<String>> parseQuery(@Nullable String rawQuery) {
+        var query = new HashMap<String, List<String>>();
+        if (rawQuery == null) {
+            return query;
+        }
+
+        for (var parameter : rawQuery.split("&")) {
+            var separator = parameter.indexOf('=');
+            var name = URLDecoder.decode(separator == -1 ? parameter : parameter.substring(0, separator), StandardCharsets.UTF_8);
+            var value = separator == -1 ? "" : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            query.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+
+        return query;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        var bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Adds the resources related to an entity to an {@code included} array.
+     *
+     * @param <E> The type of the entity
+     */
+    @FunctionalInterface
+    private interface Includer<E> {
+        void include(E entity, JsonArray included);
+    }
+
+    /**
+     * How the fake API behaves.
+     *
+     * @param latency How long each request waits before being answered
+     * @param errorRate The fraction of requests, from {@code 0} to {@code 1}, answered with a {@code 500}
+     * @param throttleRate The fraction of requests, from {@code 0} to {@code 1}, answered with a {@code 429}
+     * @param retryAfter The {@code Retry-After} of throttled requests
+     * @param pageSize The amount of items in each page of a relationship
+     */
+    public record Settings(Duration latency, double errorRate, double throttleRate, Duration retryAfter, int pageSize) {}
+}
@@ -3,28 +3,47 @@ package dev.qilletni.lib.tidal.api.helper;
 import com.tidal.sdk.tidalapi.generated.models.IncludedInner;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+/**
+ * An index of the resources in the {@code included} array of an API document, keyed by their resource type and ID.
+ * <p>
+ * Resources of different types may share an ID, so each type has its own map of IDs. The type of a resource is its
+ * model class, such as {@code ArtistsResourceObject}, so lookups must use the exact model class of the resource.
+ */
 public class IncludedInnerWrapper {
 
-    private final Map<String, IncludedInner> includedInners;
+    private final TypeIdIndex<IncludedInner> includedInners;
 
     public IncludedInnerWrapper(@Nullable List<IncludedInner> includedInners) {
-        if (includedInners == null) {
-            this.includedInners = Collections.emptyMap();
-        } else {
-            this.includedInners = includedInners.stream().collect(Collectors.toMap(ModelHelper::getIncludedInnerId, i -> i));
-        }
+        // The first resource with a duplicate type and ID is kept
+        this.includedInners = new TypeIdIndex<>(includedInners, ModelHelper::getIncludedInnerId);
     }
 
+    /**
+     * Finds an included resource, without allocating.
+     *
+     * @param id The ID of the resource
+     * @param innerClass The model class of the resource's type
+     * @param <T> The type of the resource
+     * @return The included resource, or null if no resource of the type has the ID
+     */
+    @Nullable
+    public <T extends IncludedInner> T find(String id, Class<T> innerClass) {
+        return includedInners.find(id, innerClass);
+    }
+
+    /**
+     * Gets an included resource.
+     *
+     * @param id The ID of the resource
+     * @param innerClass The model class of the resource's type
+     * @param <T> The type of the resource
+     * @return The included resource, if a resource of the type has the ID
+     */
     public <T extends IncludedInner> Optional<T> getInner(String id, Class<T> innerClass) {
-        return Optional.ofNullable(includedInners.get(id))
-                .filter(innerClass::isInstance)
-                .map(innerClass::cast);
+        return Optional.ofNullable(find(id, innerClass));
     }
 
     @Override
@@ -30,9 +30,9 @@ import com.tidal.sdk.tidalapi.generated.models.UsersResourceObject;
 import com.tidal.sdk.tidalapi.generated.models.VideosResourceObject;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 public class ModelHelper {
 
@@ -41,12 +41,15 @@ public class ModelHelper {
             return Collections.emptyList();
         }
 
-        return resourceIdentifiers
-                .stream().map(ResourceIdentifier::getId)
-                .map(id -> includedInnerWrapper.getInner(id, expectedIncludedInner))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        var includeInners = new ArrayList<T>(resourceIdentifiers.size());
+        for (var resourceIdentifier : resourceIdentifiers) {
+            var includedInner = includedInnerWrapper.find(resourceIdentifier.getId(), expectedIncludedInner);
+            if (includedInner != null) {
+                includeInners.add(includedInner);
+            }
+        }
+
+        return includeInners;
     }
 
     public static String getIncludedInnerId(IncludedInner includedInner) {
@@ -0,0 +1,50 @@
+package dev.qilletni.lib.tidal.api.helper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Reads page cursors out of the {@code links.next} values of paged API responses, as the generated API only accepts
+ * the cursor itself for the next request.
+ */
+public class PageCursors {
+
+    private static final String CURSOR_PARAMETER = "page[cursor]";
+
+    /**
+     * Gets the cursor of the next page from a {@code links.next} value, such as
+     * {@code /playlists/123/relationships/items?countryCode=US&page[cursor]=abc}.
+     *
+     * @param nextLink The link to the next page, or null if there is no next page
+     * @return The cursor of the next page, if there is one
+     */
+    public static Optional<String> nextCursor(@Nullable String nextLink) {
+        if (nextLink == null || nextLink.isBlank()) {
+            return Optional.empty();
+        }
+
+        var queryStart = nextLink.indexOf('?');
+        if (queryStart == -1) {
+            return Optional.empty();
+        }
+
+        for (var parameter : nextLink.substring(queryStart + 1).split("&")) {
+            var separator = parameter.indexOf('=');
+            if (separator == -1) {
+                continue;
+            }
+
+            // The brackets in the parameter name may or may not be encoded
+            var name = URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8);
+            if (name.equals(CURSOR_PARAMETER)) {
+                var cursor = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+                return cursor.isEmpty() ? Optional.empty() : Optional.of(cursor);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
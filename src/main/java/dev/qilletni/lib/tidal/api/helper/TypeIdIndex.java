@@ -0,0 +1,76 @@
+package dev.qilletni.lib.tidal.api.helper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An index of elements keyed by their exact class and ID, as elements of different classes may share an ID.
+ *
+ * @param <E> The common type of the indexed elements
+ */
+final class TypeIdIndex<E> {
+
+    private final Map<Class<?>, Map<String, E>> elementsByType;
+
+    /**
+     * Creates a new {@link TypeIdIndex}. If multiple elements have the same class and ID, the first one is kept.
+     *
+     * @param elements The elements to index
+     * @param idGetter Gets the ID of an element
+     */
+    TypeIdIndex(@Nullable List<? extends E> elements, Function<? super E, String> idGetter) {
+        if (elements == null || elements.isEmpty()) {
+            this.elementsByType = Collections.emptyMap();
+            return;
+        }
+
+        // Documents rarely include more than a few types, class keys are compared by identity anyway
+        this.elementsByType = new IdentityHashMap<>(4);
+
+        Class<?> lastType = null;
+        Map<String, E> lastTypeElements = null;
+
+        for (var element : elements) {
+            var type = element.getClass();
+
+            // Elements are usually grouped by type, so the previous type's map is often the right one
+            if (type != lastType) {
+                lastType = type;
+                lastTypeElements = this.elementsByType.computeIfAbsent(type, ignored -> new HashMap<>());
+            }
+
+            lastTypeElements.putIfAbsent(idGetter.apply(element), element);
+        }
+    }
+
+    /**
+     * Finds an element, without allocating.
+     *
+     * @param id The ID of the element
+     * @param type The exact class of the element
+     * @param <T> The type of the element
+     * @return The element, or null if no element of the class has the ID
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T extends E> T find(String id, Class<T> type) {
+        var typeElements = elementsByType.get(type);
+        if (typeElements == null) {
+            return null;
+        }
+
+        // Elements are only stored under their own class
+        return (T) typeElements.get(id);
+    }
+
+    @Override
+    public String toString() {
+        return elementsByType.toString();
+    }
+}
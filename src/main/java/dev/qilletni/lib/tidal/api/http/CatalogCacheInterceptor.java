@@ -0,0 +1,63 @@
+package dev.qilletni.lib.tidal.api.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * A network interceptor that marks catalog responses as cacheable, so the HTTP cache stores them and revalidates them
+ * with {@code If-None-Match}/{@code If-Modified-Since} on every later request instead of downloading them again.
+ * <p>
+ * Requests are authorized, so by default responses to them aren't stored. Catalog data is the same for every user, so
+ * responses of catalog endpoints that have a validator are marked {@code public, no-cache}. Responses the API marks
+ * as {@code no-store}, and everything that isn't a catalog GET, such as searches and user collections, are left as-is.
+ */
+public class CatalogCacheInterceptor implements Interceptor {
+
+    /**
+     * The first path segments of the endpoints whose responses are cached.
+     */
+    private static final Set<String> CATALOG_RESOURCES = Set.of("tracks", "albums", "artists", "playlists");
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var response = chain.proceed(request);
+
+        if (!isCatalogRequest(request) || !response.isSuccessful() || response.cacheControl().noStore()) {
+            return response;
+        }
+
+        if (response.header("ETag") == null && response.header("Last-Modified") == null) {
+            // Without a validator the response couldn't be revalidated, so it isn't worth storing
+            return response;
+        }
+
+        return response.newBuilder()
+                .header("Cache-Control", "public, no-cache")
+                .removeHeader("Pragma")
+                .build();
+    }
+
+    private static boolean isCatalogRequest(Request request) {
+        if (!request.method().equals("GET")) {
+            return false;
+        }
+
+        // The base URL may have a version prefix, the resource is the first known segment
+        for (var segment : request.url().pathSegments()) {
+            if (CATALOG_RESOURCES.contains(segment)) {
+                return true;
+            }
+
+            if (segment.equals("searchResults") || segment.equals("userCollections") || segment.equals("users")) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+package dev.qilletni.lib.tidal.api.http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A gzip compressed file of recorded API exchanges, one JSON object per line.
+ */
+public class TrafficArchive {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficArchive.class);
+
+    /**
+     * Reads every exchange in an archive, in the order they were recorded.
+     *
+     * @param archivePath The archive file
+     * @return The recorded exchanges
+     * @throws IOException if the archive couldn't be read
+     */
+    public static List<RecordedExchange> readAll(Path archivePath) throws IOException {
+        var exchanges = new ArrayList<RecordedExchange>();
+
+        try (var reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(archivePath)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    exchanges.add(RecordedExchange.fromJson(JsonParser.parseString(line).getAsJsonObject()));
+                }
+            }
+        }
+
+        LOGGER.debug("Read {} recorded exchanges from {}", exchanges.size(), archivePath);
+
+        return exchanges;
+    }
+
+    /**
+     * Opens an archive for recording. An existing archive at the path is replaced.
+     *
+     * @param archivePath The archive file
+     * @return The writer to record exchanges with
+     * @throws IOException if the archive couldn't be created
+     */
+    public static Writer openWriter(Path archivePath) throws IOException {
+        var parent = archivePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        // Sync flushing lets each exchange be flushed to disk as it's recorded
+        var outputStream = new GZIPOutputStream(Files.newOutputStream(archivePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), true);
+
+        return new Writer(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Appends recorded exchanges to an archive.
+     */
+    public static class Writer implements AutoCloseable {
+
+        private final BufferedWriter writer;
+
+        private Writer(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Appends an exchange to the archive.
+         *
+         * @param exchange The exchange to append
+         * @throws IOException if the exchange couldn't be written
+         */
+        public synchronized void write(RecordedExchange exchange) throws IOException {
+            writer.write(exchange.toJson().toString());
+            writer.newLine();
+            writer.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * A single recorded request and its response.
+     *
+     * @param method The HTTP method of the request
+     * @param url The full URL of the request
+     * @param code The status code of the response
+     * @param message The status message of the response
+     * @param headers The headers of the response
+     * @param contentType The content type of the response body, if any
+     * @param body The response body, decompressed
+     * @param latencyMillis How long the response took to arrive
+     */
+    public record RecordedExchange(String method, String url, int code, String message, Map<String, List<String>> headers,
+                                   @Nullable String contentType, String body, long latencyMillis) {
+
+        /**
+         * Gets the key exchanges are looked up by when replaying.
+         *
+         * @return The key of the request
+         */
+        public String requestKey() {
+            return createRequestKey(method, url);
+        }
+
+        /**
+         * Creates the key exchanges are looked up by when replaying.
+         *
+         * @param method The HTTP method of the request
+         * @param url The full URL of the request
+         * @return The key of the request
+         */
+        public static String createRequestKey(String method, String url) {
+            return method + " " + url;
+        }
+
+        private JsonObject toJson() {
+            var json = new JsonObject();
+            json.addProperty("method", method);
+            json.addProperty("url", url);
+            json.addProperty("code", code);
+            json.addProperty("message", message);
+
+            var headersJson = new JsonObject();
+            headers.forEach((name, values) -> {
+                var valuesJson = new JsonArray(values.size());
+                values.forEach(valuesJson::add);
+                headersJson.add(name, valuesJson);
+            });
+
+            json.add("headers", headersJson);
+            json.addProperty("contentType", contentType);
+            json.addProperty("body", body);
+            json.addProperty("latencyMillis", latencyMillis);
+            return json;
+        }
+
+        private static RecordedExchange fromJson(JsonObject json) {
+            var headers = new LinkedHashMap<String, List<String>>();
+            for (var header : json.getAsJsonObject("headers").entrySet()) {
+                var values = new ArrayList<String>();
+                header.getValue().getAsJsonArray().forEach(value -> values.add(value.getAsString()));
+                headers.put(header.getKey(), values);
+            }
+
+            var contentType = json.get("contentType");
+
+            return new RecordedExchange(
+                    json.get("method").getAsString(),
+                    json.get("url").getAsString(),
+                    json.get("code").getAsInt(),
+                    json.get("message").getAsString(),
+                    headers,
+                    contentType == null || contentType.isJsonNull() ? null : contentType.getAsString(),
+                    json.get("body").getAsString(),
+                    json.get("latencyMillis").getAsLong()
+            );
+        }
+    }
+
+    /**
+     * Groups exchanges by their request key, keeping the order they were recorded in.
+     *
+     * @param exchanges The exchanges to group
+     * @return The exchanges of each request key
+     */
+    static Map<String, List<RecordedExchange>> groupByRequest(List<RecordedExchange> exchanges) {
+        var grouped = new HashMap<String, List<RecordedExchange>>();
+        for (var exchange : exchanges) {
+            grouped.computeIfAbsent(exchange.requestKey(), key -> new ArrayList<>()).add(exchange);
+        }
+
+        return grouped;
+    }
+}
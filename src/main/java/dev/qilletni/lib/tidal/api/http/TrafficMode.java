@@ -0,0 +1,21 @@
+package dev.qilletni.lib.tidal.api.http;
+
+/**
+ * How API traffic is captured to or served from a {@link TrafficArchive}.
+ */
+public enum TrafficMode {
+    /**
+     * Requests are sent to the API as usual, and nothing is recorded.
+     */
+    OFF,
+
+    /**
+     * Requests are sent to the API, and every exchange is appended to the archive.
+     */
+    RECORD,
+
+    /**
+     * Requests are answered from the archive, without a network connection or credentials.
+     */
+    REPLAY
+}
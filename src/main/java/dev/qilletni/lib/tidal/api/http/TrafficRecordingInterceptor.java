@@ -0,0 +1,69 @@
+package dev.qilletni.lib.tidal.api.http;
+
+import dev.qilletni.lib.tidal.api.http.TrafficArchive.RecordedExchange;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An interceptor that records every API exchange to a {@link TrafficArchive}. Only responses are recorded, request
+ * headers such as the authorization header are never written.
+ */
+public class TrafficRecordingInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficRecordingInterceptor.class);
+
+    /**
+     * Headers that describe the encoding of the body on the wire, which no longer apply to the recorded body.
+     */
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding", "set-cookie");
+
+    private final TrafficArchive.Writer archiveWriter;
+
+    public TrafficRecordingInterceptor(TrafficArchive.Writer archiveWriter) {
+        this.archiveWriter = archiveWriter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+
+        var startNanos = System.nanoTime();
+        var response = chain.proceed(request);
+        var latencyMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        var headers = new LinkedHashMap<String, List<String>>();
+        for (var name : response.headers().names()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, response.headers(name));
+            }
+        }
+
+        // Peeking leaves the body readable by the caller
+        var body = response.peekBody(Long.MAX_VALUE);
+        var contentType = body.contentType();
+
+        try {
+            archiveWriter.write(new RecordedExchange(
+                    request.method(),
+                    request.url().toString(),
+                    response.code(),
+                    response.message(),
+                    headers,
+                    contentType == null ? null : contentType.toString(),
+                    body.string(),
+                    latencyMillis
+            ));
+        } catch (IOException e) {
+            LOGGER.error("Failed to record exchange for {}", request.url(), e);
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.qilletni.lib.tidal.api.http;
+
+import dev.qilletni.lib.tidal.api.http.TrafficArchive.RecordedExchange;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An interceptor that answers every request from a {@link TrafficArchive} instead of sending it. Requests recorded
+ * more than once are answered with their recorded responses in order, repeating the last one once they run out.
+ * Requests that were never recorded are answered with a {@code 404}.
+ */
+public class TrafficReplayInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficReplayInterceptor.class);
+
+    private static final String NOT_RECORDED_BODY = "{\"errors\":[{\"code\":\"NOT_RECORDED\",\"detail\":\"Request was not recorded\"}]}";
+
+    private final Map<String, List<RecordedExchange>> exchanges;
+    private final Map<String, AtomicInteger> replayCounts = new ConcurrentHashMap<>();
+    private final Duration latency;
+
+    /**
+     * Creates a {@link TrafficReplayInterceptor}.
+     *
+     * @param exchanges The recorded exchanges to answer requests with
+     * @param latency How long to wait before answering a request. A negative duration waits as long as the response
+     *                originally took, a zero duration answers right away
+     */
+    public TrafficReplayInterceptor(List<RecordedExchange> exchanges, Duration latency) {
+        this.exchanges = TrafficArchive.groupByRequest(exchanges);
+        this.latency = latency;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var requestKey = RecordedExchange.createRequestKey(request.method(), request.url().toString());
+
+        var recorded = exchanges.get(requestKey);
+        if (recorded == null) {
+            LOGGER.warn("No recorded exchange for {}", requestKey);
+
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(404)
+                    .message("Not Recorded")
+                    .body(ResponseBody.create(NOT_RECORDED_BODY, MediaType.parse("application/vnd.api+json")))
+                    .build();
+        }
+
+        var replayCount = replayCounts.computeIfAbsent(requestKey, key -> new AtomicInteger()).getAndIncrement();
+        var exchange = recorded.get(Math.min(replayCount, recorded.size() - 1));
+
+        delay(latency.isNegative() ? Duration.ofMillis(exchange.latencyMillis()) : latency);
+
+        var headers = new Headers.Builder();
+        exchange.headers().forEach((name, values) -> values.forEach(value -> headers.add(name, value)));
+
+        var contentType = exchange.contentType() == null ? null : MediaType.parse(exchange.contentType());
+
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(exchange.code())
+                .message(exchange.message())
+                .headers(headers.build())
+                .body(ResponseBody.create(exchange.body(), contentType))
+                .build();
+    }
+
+    private static void delay(Duration duration) throws InterruptedIOException {
+        if (duration.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while replaying latency");
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.tidal.sdk.tidalapi.oauth2.OAuth2TokenManager;
 import dev.qilletni.api.lib.persistence.PackageConfig;
 import dev.qilletni.lib.tidal.CoroutineHelper;
 import dev.qilletni.lib.tidal.api.TidalAuthorizer;
+import dev.qilletni.lib.tidal.music.async.ExecutionMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Response;
@@ -90,8 +91,21 @@ public class TidalOAuthAuthorizer implements TidalAuthorizer {
      * @param clientSecret The Tidal API client secret
      */
     public TidalOAuthAuthorizer(PackageConfig packageConfig, String clientId, String clientSecret) {
+        this(packageConfig, clientId, clientSecret, ExecutionMode.PLATFORM);
+    }
+
+    /**
+     * Creates a new TidalOAuthAuthorizer with the specified configuration and credentials, running its background
+     * work on the given kind of threads.
+     *
+     * @param packageConfig The package configuration for persistent token storage
+     * @param clientId The Tidal API client ID
+     * @param clientSecret The Tidal API client secret
+     * @param executionMode The kind of threads to run the callback server and authorization steps on
+     */
+    public TidalOAuthAuthorizer(PackageConfig packageConfig, String clientId, String clientSecret, ExecutionMode executionMode) {
         this.packageConfig = packageConfig;
-        this.executorService = Executors.newCachedThreadPool();
+        this.executorService = executionMode.createExecutor("tidal-oauth-");
         this.refreshScheduler = Executors.newSingleThreadScheduledExecutor();
 
         this.oAuth2Config = new OAuth2Config.Builder()
@@ -103,6 +117,21 @@ public class TidalOAuthAuthorizer implements TidalAuthorizer {
         this.authFlow = new AuthorizationCodeFlow(oAuth2Config, tokenManager);
     }
 
+    /**
+     * Creates an API client that is never authorized, for use when every request is answered without reaching the
+     * API, such as when replaying recorded traffic. Any request that does reach the API fails to authorize.
+     *
+     * @return The created API client
+     */
+    public static TidalApiClient createOfflineApiClient() {
+        var offlineConfig = new OAuth2Config.Builder()
+                .clientId("offline")
+                .clientSecret("offline")
+                .build();
+
+        return new TidalApiClient(new OAuth2TokenManager(offlineConfig), DEFAULT_BASE_URL);
+    }
+
     /**
      * Creates a {@link TidalOAuthAuthorizer} using environment variables for credentials.
      *
@@ -231,6 +260,16 @@ public class TidalOAuthAuthorizer implements TidalAuthorizer {
         return tidalApiClient;
     }
 
+    /**
+     * Checks if there is an access token that hasn't expired. Tokens are refreshed before they expire, so an expired
+     * token means refreshing it has been failing.
+     *
+     * @return If the access token is valid
+     */
+    public boolean isTokenValid() {
+        return tidalApiClient != null && !tokenManager.isTokenExpired();
+    }
+
     /**
      * Gets the current authenticated user's profile.
      *
@@ -0,0 +1,171 @@
+package dev.qilletni.lib.tidal.api.ratelimit;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket rate limiter shared by every request to the API, which adapts its rate to how the API responds.
+ * <p>
+ * Callers that exceed the rate are queued rather than rejected: each call to {@link #reserve()} reserves the next free
+ * slot and returns how long to wait for it, and once it has arrived {@link #recheck()} tells whether the request may be
+ * sent. The rate is raised a little after every successful request and halved when the API throttles a request, and no
+ * requests are let through until a throttled request's {@code Retry-After} has passed, including requests that had
+ * already reserved a slot. Requests throttled during that pause were sent before it began, so they don't lower the rate
+ * again.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    /**
+     * How much the rate grows over roughly a second of successful requests.
+     */
+    private static final double ADDITIVE_INCREASE = 0.5;
+
+    /**
+     * The factor the rate is multiplied by when a request is throttled.
+     */
+    private static final double MULTIPLICATIVE_DECREASE = 0.5;
+
+    private final double minimumRate;
+    private final double maximumRate;
+    private final double burstCapacity;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * Creates a new {@link AdaptiveRateLimiter}.
+     *
+     * @param initialRate The amount of requests per second allowed at first
+     * @param maximumRate The most requests per second the rate may grow to
+     */
+    public AdaptiveRateLimiter(double initialRate, double maximumRate) {
+        this.maximumRate = Math.max(maximumRate, 0.1);
+        this.minimumRate = Math.min(0.1, this.maximumRate);
+        this.rate = Math.clamp(initialRate, minimumRate, this.maximumRate);
+        this.burstCapacity = Math.max(1, this.rate);
+        this.tokens = burstCapacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Reserves the next free request slot without waiting for it, for callers that wait without blocking a thread.
+     *
+     * @return How many nanoseconds to wait until the reserved slot arrives
+     */
+    public synchronized long reserve() {
+        var now = System.nanoTime();
+        refill(now);
+
+        // Tokens may go negative, each missing token is a request queued behind the ones before it
+        tokens -= 1;
+        var waitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+
+        return Math.max(waitNanos, pausedUntilNanos - now);
+    }
+
+    /**
+     * Checks a reserved slot once it has arrived. If a request was throttled after the slot was reserved and its
+     * {@code Retry-After} hasn't passed yet, the request's token is given back and a new slot is reserved after the
+     * pause, so a request queued across a pause still only takes one token.
+     *
+     * @return How many nanoseconds to wait until the newly reserved slot arrives, or 0 if the request may be sent now
+     */
+    public synchronized long recheck() {
+        if (pausedUntilNanos - System.nanoTime() <= 0) {
+            return 0;
+        }
+
+        LOGGER.trace("Reserved slot arrived while paused, reserving a new one");
+        tokens += 1;
+        return reserve();
+    }
+
+    /**
+     * Records a request that wasn't throttled, slowly raising the rate.
+     */
+    public synchronized void onSuccess() {
+        if (rate < maximumRate) {
+            rate = Math.min(maximumRate, rate + ADDITIVE_INCREASE / rate);
+        }
+    }
+
+    /**
+     * Records a throttled request. No slots are handed out until the given delay has passed, and unless the limiter
+     * is already paused, the rate is lowered.
+     *
+     * @param retryAfter How long the API asked to wait before retrying
+     */
+    public synchronized void onThrottled(Duration retryAfter) {
+        var now = System.nanoTime();
+        refill(now);
+
+        // Requests throttled while paused were sent together before the pause, so they only lower the rate once
+        if (pausedUntilNanos - now <= 0) {
+            rate = Math.max(minimumRate, rate * MULTIPLICATIVE_DECREASE);
+            LOGGER.warn("Throttled by the API, waiting {}ms and lowering rate to {} requests/second", retryAfter.toMillis(), "%.2f".formatted(rate));
+        } else {
+            LOGGER.debug("Throttled by the API while paused, waiting {}ms", retryAfter.toMillis());
+        }
+
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+
+        // Drop any saved up burst, so requests resume at the lowered rate
+        tokens = Math.min(tokens, 0);
+    }
+
+    /**
+     * The current amount of requests per second allowed.
+     *
+     * @return The current rate
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        var elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(burstCapacity, tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Parses a {@code Retry-After} header, which is either an amount of seconds or an HTTP date.
+     *
+     * @param retryAfter The value of the header, or null if it wasn't sent
+     * @return How long to wait, if the header was present and valid
+     */
+    public static Optional<Duration> parseRetryAfter(@Nullable String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+
+        var value = retryAfter.trim();
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException ignored) {}
+
+        try {
+            var retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            var delay = Duration.between(Instant.now(), retryAt);
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException e) {
+            LOGGER.debug("Invalid Retry-After header: {}", value);
+            return Optional.empty();
+        }
+    }
+}
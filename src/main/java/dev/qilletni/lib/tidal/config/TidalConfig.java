@@ -0,0 +1,412 @@
+package dev.qilletni.lib.tidal.config;
+
+import com.tidal.sdk.tidalapi.generated.TidalApiClient;
+import dev.qilletni.api.lib.persistence.PackageConfig;
+import dev.qilletni.lib.tidal.api.http.TrafficMode;
+import dev.qilletni.lib.tidal.music.async.ExecutionMode;
+import dev.qilletni.lib.tidal.music.cache.EvictionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Typed, read-only view over the optional tuning values in the Tidal {@link PackageConfig}.
+ * <p>
+ * Every value has a default, so none of these options need to be present in the config. Malformed values are logged
+ * and the default is used instead.
+ */
+public class TidalConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TidalConfig.class);
+
+    private final Function<String, Optional<String>> valueLookup;
+
+    /**
+     * Creates a {@link TidalConfig} backed by the given package config.
+     *
+     * @param packageConfig The config to read values from
+     */
+    public TidalConfig(PackageConfig packageConfig) {
+        this(packageConfig::get);
+    }
+
+    /**
+     * Creates a {@link TidalConfig} backed by an arbitrary lookup function, mainly for use outside of a Qilletni
+     * runtime.
+     *
+     * @param valueLookup The function to look up raw config values by key
+     */
+    public TidalConfig(Function<String, Optional<String>> valueLookup) {
+        this.valueLookup = valueLookup;
+    }
+
+    /**
+     * The maximum amount of entities each in-memory entity cache holds. A value of {@code 0} disables the cache.
+     *
+     * @return The maximum entry count per entity type
+     */
+    public int getCacheMaxEntries() {
+        return getInt("cacheMaxEntries", 10_000);
+    }
+
+    /**
+     * How long an entity may live in the in-memory cache after being inserted. A zero duration disables expiry.
+     *
+     * @return The in-memory cache TTL
+     */
+    public Duration getCacheTtl() {
+        return Duration.ofMinutes(getInt("cacheTtlMinutes", 60));
+    }
+
+    /**
+     * The policy used to pick which entities to drop once an in-memory cache is full.
+     *
+     * @return The eviction policy
+     */
+    public EvictionPolicy getCacheEvictionPolicy() {
+        return getEnum("cacheEviction", EvictionPolicy.class, EvictionPolicy.LRU);
+    }
+
+    /**
+     * The maximum amount of IDs put in a single {@code IN (...)} query when looking up many entities at once.
+     *
+     * @return The database lookup chunk size
+     */
+    public int getDatabaseLookupChunkSize() {
+        return getInt("dbLookupChunkSize", 500);
+    }
+
+    /**
+     * The amount of statements Hibernate groups into a single JDBC batch when writing entities.
+     *
+     * @return The JDBC batch size
+     */
+    public int getDatabaseBatchSize() {
+        return getInt("dbBatchSize", 50);
+    }
+
+    /**
+     * The maximum amount of rows written by a single multi-row {@code INSERT ... ON CONFLICT DO NOTHING} statement
+     * when storing artists, albums, and tracks.
+     *
+     * @return The amount of rows per upsert statement
+     */
+    public int getUpsertRowsPerStatement() {
+        return getInt("dbUpsertRowsPerStatement", 500);
+    }
+
+    /**
+     * How long a name search that found nothing is remembered, during which the same search isn't sent to the API
+     * again. A zero duration disables remembering failed searches.
+     *
+     * @return The negative search cache TTL
+     */
+    public Duration getNegativeSearchTtl() {
+        return Duration.ofMinutes(getInt("negativeSearchTtlMinutes", 7 * 24 * 60));
+    }
+
+    /**
+     * How long a stored playlist index is used before checking if the playlist has changed. Changed playlists only
+     * have their new tracks fetched. A zero duration checks every time the playlist's tracks are requested.
+     *
+     * @return The playlist index check interval
+     */
+    public Duration getPlaylistIndexCheckInterval() {
+        return Duration.ofDays(getInt("playlistIndexCheckDays", 1));
+    }
+
+    /**
+     * The maximum amount of name searches run at the same time when searching for many tracks at once.
+     *
+     * @return The search parallelism
+     */
+    public int getSearchParallelism() {
+        return getInt("searchParallelism", 8);
+    }
+
+    /**
+     * The amount of API requests per second allowed at first. The rate adapts to how often the API throttles
+     * requests.
+     *
+     * @return The initial requests per second
+     */
+    public int getRateLimit() {
+        return getInt("rateLimitPerSecond", 5);
+    }
+
+    /**
+     * The most API requests per second the rate may grow to while requests aren't being throttled.
+     *
+     * @return The maximum requests per second
+     */
+    public int getRateLimitMax() {
+        return getInt("rateLimitMaxPerSecond", 20);
+    }
+
+    /**
+     * How many times a throttled API request is retried before giving up on it.
+     *
+     * @return The maximum retries of a throttled request
+     */
+    public int getRateLimitMaxRetries() {
+        return getInt("rateLimitMaxRetries", 5);
+    }
+
+    /**
+     * The kind of threads fetch work and other background work runs on.
+     *
+     * @return The execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return getEnum("executionMode", ExecutionMode.class, ExecutionMode.PLATFORM);
+    }
+
+    /**
+     * The maximum amount of fetch tasks, such as loading a playlist in the background or fetching a batch of entities
+     * by their IDs, running at the same time.
+     *
+     * @return The maximum concurrent fetches
+     */
+    public int getMaxConcurrentFetches() {
+        return getInt("maxConcurrentFetches", 256);
+    }
+
+    /**
+     * The maximum amount of idle HTTP connections kept open to the API for reuse.
+     *
+     * @return The maximum idle connections
+     */
+    public int getHttpMaxIdleConnections() {
+        return getInt("httpMaxIdleConnections", 16);
+    }
+
+    /**
+     * How long an idle HTTP connection is kept open before it is closed.
+     *
+     * @return The keep-alive duration
+     */
+    public Duration getHttpKeepAlive() {
+        return Duration.ofSeconds(getInt("httpKeepAliveSeconds", 300));
+    }
+
+    /**
+     * The maximum amount of HTTP requests sent to the API at the same time. Requests over this wait in a queue.
+     *
+     * @return The maximum concurrent requests
+     */
+    public int getHttpMaxRequests() {
+        return getInt("httpMaxRequests", 64);
+    }
+
+    /**
+     * If HTTP/2 may be negotiated with the API, so concurrent requests share a single connection. When disabled, only
+     * HTTP/1.1 is used.
+     *
+     * @return If HTTP/2 is enabled
+     */
+    public boolean isHttp2Enabled() {
+        return getBoolean("httpHttp2", true);
+    }
+
+    /**
+     * If responses may be gzip compressed by the API. Compressed responses are decompressed transparently.
+     *
+     * @return If gzip is enabled
+     */
+    public boolean isHttpGzipEnabled() {
+        return getBoolean("httpGzip", true);
+    }
+
+    /**
+     * The maximum size of the on-disk HTTP cache of catalog responses, set with {@code httpCacheSizeMb}. Once full,
+     * the least recently used responses are removed. The cache writes to {@link #getHttpCacheDirectory()}, so it is
+     * off unless a size is set. A value of {@code 0} disables the cache.
+     *
+     * @return The HTTP cache size in megabytes
+     */
+    public int getHttpCacheSizeMb() {
+        return getInt("httpCacheSizeMb", 0);
+    }
+
+    /**
+     * The directory the HTTP cache of catalog responses is stored in, set with {@code httpCacheDir}. Defaults to
+     * {@code ~/.qilletni/tidal/http-cache}.
+     *
+     * @return The HTTP cache directory
+     */
+    public Path getHttpCacheDirectory() {
+        return valueLookup.apply("httpCacheDir")
+                .map(Path::of)
+                .orElseGet(() -> Path.of(System.getProperty("user.home"), ".qilletni", "tidal", "http-cache"));
+    }
+
+    /**
+     * If API traffic is recorded to, or replayed from, the traffic archive.
+     *
+     * @return The traffic mode
+     */
+    public TrafficMode getTrafficMode() {
+        return getEnum("trafficMode", TrafficMode.class, TrafficMode.OFF);
+    }
+
+    /**
+     * The file API traffic is recorded to or replayed from.
+     *
+     * @return The traffic archive path
+     */
+    public Path getTrafficArchive() {
+        return valueLookup.apply("trafficArchive")
+                .map(Path::of)
+                .orElseGet(() -> Path.of(System.getProperty("user.home"), ".qilletni", "tidal", "traffic.jsonl.gz"));
+    }
+
+    /**
+     * How long each replayed response waits before being returned. A negative value waits as long as the response
+     * originally took, and {@code 0} returns responses right away.
+     *
+     * @return The replay latency
+     */
+    public Duration getTrafficReplayLatency() {
+        return Duration.ofMillis(getInt("trafficReplayLatencyMs", 0));
+    }
+
+    /**
+     * The base URL of the Tidal API. Changing this is mainly useful for pointing the API client at a stand-in server.
+     *
+     * @return The API base URL, ending with a slash
+     */
+    public String getApiBaseUrl() {
+        return valueLookup.apply("apiBaseUrl")
+                .map(baseUrl -> baseUrl.endsWith("/") ? baseUrl : baseUrl + "/")
+                .orElse(TidalApiClient.DEFAULT_BASE_URL);
+    }
+
+    /**
+     * If an in-process fake Tidal API is started and used instead of the real API, for load testing without a network
+     * connection or credentials.
+     *
+     * @return If the fake API server is enabled
+     */
+    public boolean isFakeApiServerEnabled() {
+        return getBoolean("fakeApiServer", false);
+    }
+
+    /**
+     * The port the fake API server listens on. A value of {@code 0} picks any free port.
+     *
+     * @return The fake API server port
+     */
+    public int getFakeApiServerPort() {
+        return getInt("fakeApiServerPort", 0);
+    }
+
+    /**
+     * The amount of tracks in the fake API's synthetic catalog.
+     *
+     * @return The fake catalog track count
+     */
+    public int getFakeCatalogTracks() {
+        return getInt("fakeCatalogTracks", 10_000);
+    }
+
+    /**
+     * The amount of playlists in the fake API's synthetic catalog.
+     *
+     * @return The fake catalog playlist count
+     */
+    public int getFakeCatalogPlaylists() {
+        return getInt("fakeCatalogPlaylists", 20);
+    }
+
+    /**
+     * The amount of tracks in each playlist of the fake API's synthetic catalog.
+     *
+     * @return The fake catalog playlist size
+     */
+    public int getFakeCatalogPlaylistSize() {
+        return getInt("fakeCatalogPlaylistSize", 500);
+    }
+
+    /**
+     * How long the fake API waits before answering each request.
+     *
+     * @return The fake API latency
+     */
+    public Duration getFakeApiLatency() {
+        return Duration.ofMillis(getInt("fakeApiLatencyMs", 0));
+    }
+
+    /**
+     * The percentage of requests the fake API answers with a server error.
+     *
+     * @return The fake API error rate, from 0 to 100
+     */
+    public int getFakeApiErrorPercent() {
+        return getInt("fakeApiErrorPercent", 0);
+    }
+
+    /**
+     * The percentage of requests the fake API throttles with a {@code 429}.
+     *
+     * @return The fake API throttle rate, from 0 to 100
+     */
+    public int getFakeApiThrottlePercent() {
+        return getInt("fakeApiThrottlePercent", 0);
+    }
+
+    /**
+     * If a local admin server is started, serving metrics in the Prometheus text format at {@code /metrics} and health
+     * checks at {@code /health}.
+     *
+     * @return If the admin server is enabled
+     */
+    public boolean isAdminServerEnabled() {
+        return getBoolean("adminServer", false);
+    }
+
+    /**
+     * The port the admin server listens on, on the loopback address only. A value of {@code 0} picks any free port.
+     *
+     * @return The admin server port
+     */
+    public int getAdminServerPort() {
+        return getInt("adminServerPort", 9464);
+    }
+
+    private int getInt(String key, int defaultValue) {
+        return valueLookup.apply(key).map(value -> {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid integer '{}' for config value '{}', using default {}", value, key, defaultValue);
+                return defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+
+    private boolean getBoolean(String key, boolean defaultValue) {
+        return valueLookup.apply(key).map(value -> switch (value.trim().toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> {
+                LOGGER.warn("Invalid boolean '{}' for config value '{}', using default {}", value, key, defaultValue);
+                yield defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+
+    private <E extends Enum<E>> E getEnum(String key, Class<E> enumClass, E defaultValue) {
+        return valueLookup.apply(key).map(value -> {
+            try {
+                return Enum.valueOf(enumClass, value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Invalid value '{}' for config value '{}', using default {}", value, key, defaultValue);
+                return defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+}
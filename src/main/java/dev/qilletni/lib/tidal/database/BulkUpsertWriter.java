@@ -0,0 +1,244 @@
+package dev.qilletni.lib.tidal.database;
+
+import dev.qilletni.api.music.Artist;
+import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
+import dev.qilletni.lib.tidal.music.entities.TidalArtist;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes artists, albums, and tracks (along with their artist join tables) with multi-row PostgreSQL
+ * {@code INSERT ... ON CONFLICT DO NOTHING} statements.
+ * <p>
+ * Entities that already exist are left untouched, so writing the same entities multiple times, or from multiple
+ * processes at once, is safe. Rows are inserted in the order of their unique key, so concurrent writers lock
+ * overlapping keys in the same order and can't deadlock on each other.
+ * <p>
+ * Join table rows of ordered collections are written for every given entity, and rows that already exist are skipped,
+ * which repairs any missing join rows of existing entities. Unordered collections have no unique key to skip existing
+ * rows with, so their join rows are only written for newly inserted entities.
+ */
+public class BulkUpsertWriter {
+
+    /**
+     * The most bind parameters PostgreSQL accepts in a single statement.
+     */
+    static final int MAX_PARAMETERS = 65_535;
+
+    private static final Comparator<Object[]> BY_ID = Comparator.comparing(row -> (String) row[0]);
+
+    private final Connection connection;
+    private final int rowsPerStatement;
+
+    private int statementCount;
+    private long rowsWritten;
+
+    /**
+     * Creates a new {@link BulkUpsertWriter}.
+     *
+     * @param connection The connection to write with. Transactions are left to the caller
+     * @param rowsPerStatement The maximum amount of rows to insert with a single statement
+     */
+    public BulkUpsertWriter(Connection connection, int rowsPerStatement) {
+        this.connection = connection;
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+    }
+
+    /**
+     * Inserts all artists that don't exist yet.
+     *
+     * @param artists The artists to write
+     * @return The IDs of the artists that were newly inserted
+     */
+    public Set<String> upsertArtists(Collection<TidalArtist> artists) {
+        var table = EntityTables.getEntityTable(TidalArtist.class);
+
+        var rows = new LinkedHashMap<String, Object[]>();
+        for (var artist : artists) {
+            rows.putIfAbsent(artist.getId(), new Object[] {artist.getId(), artist.getName()});
+        }
+
+        return insertRows(table.tableName(), List.of(table.idColumn(), table.column("name")), BY_ID, table.idColumn(), rows.values());
+    }
+
+    /**
+     * Inserts all albums that don't exist yet, along with any of their artist references that don't exist yet. The
+     * artists must already exist.
+     *
+     * @param albums The albums to write
+     * @return The IDs of the albums that were newly inserted
+     */
+    public Set<String> upsertAlbums(Collection<TidalAlbum> albums) {
+        var table = EntityTables.getEntityTable(TidalAlbum.class);
+
+        var rows = new LinkedHashMap<String, Object[]>();
+        var albumArtistIds = new LinkedHashMap<String, List<String>>();
+        for (var album : albums) {
+            if (rows.putIfAbsent(album.getId(), new Object[] {album.getId(), album.getName()}) == null) {
+                albumArtistIds.put(album.getId(), album.getArtists().stream().map(Artist::getId).toList());
+            }
+        }
+
+        var insertedIds = insertRows(table.tableName(), List.of(table.idColumn(), table.column("name")), BY_ID, table.idColumn(), rows.values());
+
+        insertJoinRows(EntityTables.getJoinTable(TidalAlbum.class, "artists"), albumArtistIds, insertedIds);
+
+        return insertedIds;
+    }
+
+    /**
+     * Inserts all tracks that don't exist yet, along with any of their artist references that don't exist yet. The
+     * artists and albums must already exist.
+     *
+     * @param tracks The tracks to write
+     * @return The IDs of the tracks that were newly inserted
+     */
+    public Set<String> upsertTracks(Collection<TidalTrack> tracks) {
+        var table = EntityTables.getEntityTable(TidalTrack.class);
+
+        var rows = new LinkedHashMap<String, Object[]>();
+        var trackArtistIds = new LinkedHashMap<String, List<String>>();
+        for (var track : tracks) {
+            var row = new Object[] {track.getId(), track.getName(), track.getAlbum().getId(), track.getDuration()};
+            if (rows.putIfAbsent(track.getId(), row) == null) {
+                trackArtistIds.put(track.getId(), track.getArtists().stream().map(Artist::getId).toList());
+            }
+        }
+
+        var columns = List.of(table.idColumn(), table.column("name"), table.column("album"), table.column("duration"));
+        var insertedIds = insertRows(table.tableName(), columns, BY_ID, table.idColumn(), rows.values());
+
+        insertJoinRows(EntityTables.getJoinTable(TidalTrack.class, "artists"), trackArtistIds, insertedIds);
+
+        return insertedIds;
+    }
+
+    /**
+     * The amount of statements this writer has sent.
+     *
+     * @return The statement count
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * The amount of rows this writer has inserted, not counting rows that already existed.
+     *
+     * @return The amount of rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Writes the rows of a collection join table, skipping any rows that already exist. Without an order column
+     * existing rows can't be detected, so only the rows of newly inserted owners are written.
+     *
+     * @param joinTable The join table to write to
+     * @param elementIdsByOwner The ordered element IDs of each collection, keyed by the ID of the owning entity
+     * @param insertedOwnerIds The IDs of the owning entities that were newly inserted
+     */
+    private void insertJoinRows(EntityTables.JoinTable joinTable, Map<String, List<String>> elementIdsByOwner, Set<String> insertedOwnerIds) {
+        if (joinTable.orderColumn() == null) {
+            elementIdsByOwner.keySet().retainAll(insertedOwnerIds);
+        }
+
+        var columns = joinTable.orderColumn() == null
+                ? List.of(joinTable.ownerColumn(), joinTable.elementColumn())
+                : List.of(joinTable.ownerColumn(), joinTable.elementColumn(), joinTable.orderColumn());
+
+        // The primary key of an ordered collection is its owner and position, otherwise its owner and element
+        var keyOrder = joinTable.orderColumn() == null
+                ? BY_ID.thenComparing(row -> (String) row[1])
+                : BY_ID.thenComparingInt(row -> (Integer) row[2]);
+
+        var rows = new ArrayList<Object[]>();
+        elementIdsByOwner.forEach((ownerId, elementIds) -> {
+            for (int i = 0; i < elementIds.size(); i++) {
+                rows.add(joinTable.orderColumn() == null
+                        ? new Object[] {ownerId, elementIds.get(i)}
+                        : new Object[] {ownerId, elementIds.get(i), i});
+            }
+        });
+
+        insertRows(joinTable.tableName(), columns, keyOrder, null, rows);
+    }
+
+    /**
+     * Inserts rows in chunks of multi-row {@code INSERT ... ON CONFLICT DO NOTHING} statements. The rows are sorted by
+     * their unique key first, and each statement has at most {@link #MAX_PARAMETERS} parameters.
+     *
+     * @param tableName The table to insert into
+     * @param columns The columns of each row, in order
+     * @param keyOrder Orders the rows by the table's unique key
+     * @param returningColumn If not null, the column to return the values of for inserted rows
+     * @param rows The values of each row, in the order of the columns
+     * @return The values of the returning column of each newly inserted row, or an empty set if no column is returned
+     */
+    Set<String> insertRows(String tableName, List<String> columns, Comparator<Object[]> keyOrder, @Nullable String returningColumn, Collection<Object[]> rows) {
+        var insertedIds = new HashSet<String>();
+        if (rows.isEmpty()) {
+            return insertedIds;
+        }
+
+        var rowList = new ArrayList<>(rows);
+        rowList.sort(keyOrder);
+
+        var placeholders = "(" + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        var chunkSize = Math.max(1, Math.min(rowsPerStatement, MAX_PARAMETERS / columns.size()));
+
+        for (int start = 0; start < rowList.size(); start += chunkSize) {
+            var chunk = rowList.subList(start, Math.min(start + chunkSize, rowList.size()));
+
+            var sql = new StringBuilder("insert into ")
+                    .append(tableName)
+                    .append(" (").append(String.join(", ", columns)).append(") values ")
+                    .append(String.join(", ", Collections.nCopies(chunk.size(), placeholders)))
+                    .append(" on conflict do nothing");
+
+            if (returningColumn != null) {
+                sql.append(" returning ").append(returningColumn);
+            }
+
+            try (var statement = connection.prepareStatement(sql.toString())) {
+                var parameterIndex = 1;
+                for (var row : chunk) {
+                    for (var value : row) {
+                        statement.setObject(parameterIndex++, value);
+                    }
+                }
+
+                statementCount++;
+
+                if (returningColumn == null) {
+                    rowsWritten += statement.executeUpdate();
+                    continue;
+                }
+
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        insertedIds.add(resultSet.getString(1));
+                        rowsWritten++;
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to write rows to " + tableName, e);
+            }
+        }
+
+        return insertedIds;
+    }
+}
@@ -0,0 +1,64 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers to look up many entities by their IDs in as few queries as possible.
+ */
+public class EntityLookup {
+
+    /**
+     * Finds all entities with the given IDs, using chunked {@code IN (...)} queries instead of one query per ID.
+     * Duplicate IDs are only looked up once.
+     *
+     * @param session The session to query with
+     * @param entityClass The class of the entity to look up
+     * @param ids The IDs of the entities to find
+     * @param chunkSize The maximum amount of IDs to put in a single query
+     * @param <T> The type of the entity
+     * @return The found entities and the IDs that could not be found, both in the order the IDs were given
+     */
+    public static <T> LookupResult<T> findAllById(Session session, Class<T> entityClass, Collection<String> ids, int chunkSize) {
+        var distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        var found = new LinkedHashMap<String, T>(distinctIds.size());
+        var missingIds = new ArrayList<String>();
+
+        if (distinctIds.isEmpty()) {
+            return new LookupResult<>(found, missingIds);
+        }
+
+        // Results are ordered to match the given IDs, with nulls for anything not found
+        var results = session.byMultipleIds(entityClass)
+                .withBatchSize(Math.max(1, chunkSize))
+                .multiLoad(distinctIds);
+
+        for (int i = 0; i < distinctIds.size(); i++) {
+            var id = distinctIds.get(i);
+            var entity = results.get(i);
+
+            if (entity != null) {
+                found.put(id, entity);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new LookupResult<>(found, missingIds);
+    }
+
+    /**
+     * The result of a bulk lookup.
+     *
+     * @param found The found entities, keyed by their ID in the order of the requested IDs
+     * @param missingIds The IDs with no matching entity, in the order they were requested
+     * @param <T> The type of the entity
+     */
+    public record LookupResult<T>(Map<String, T> found, List<String> missingIds) {}
+}
@@ -0,0 +1,101 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the physical table and column names Hibernate has mapped entities and collections to, for writing to them
+ * with plain SQL.
+ */
+public class EntityTables {
+
+    private static final Map<Class<?>, EntityTable> ENTITY_TABLES = new ConcurrentHashMap<>();
+    private static final Map<String, JoinTable> JOIN_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the table an entity is stored in.
+     *
+     * @param entityClass The entity class
+     * @return The table of the entity
+     */
+    public static EntityTable getEntityTable(Class<?> entityClass) {
+        return ENTITY_TABLES.computeIfAbsent(entityClass, clazz -> {
+            var persister = (AbstractEntityPersister) getSessionFactory().getMetamodel().entityPersister(clazz);
+
+            // Collections have no columns in the entity table, and are left out
+            var propertyColumns = new HashMap<String, String>();
+            for (var property : persister.getPropertyNames()) {
+                var columns = persister.getPropertyColumnNames(property);
+                if (columns.length == 1) {
+                    propertyColumns.put(property, columns[0]);
+                }
+            }
+
+            return new EntityTable(persister.getTableName(), persister.getIdentifierColumnNames()[0], Map.copyOf(propertyColumns));
+        });
+    }
+
+    /**
+     * Gets the join table backing a {@code @ManyToMany} collection.
+     *
+     * @param ownerClass The entity class owning the collection
+     * @param property The name of the collection property in the owning class
+     * @return The join table of the collection
+     */
+    public static JoinTable getJoinTable(Class<?> ownerClass, String property) {
+        return JOIN_TABLES.computeIfAbsent(ownerClass.getName() + "." + property, role -> {
+            var persister = (AbstractCollectionPersister) getSessionFactory().getMetamodel().collectionPersister(role);
+
+            return new JoinTable(persister.getTableName(),
+                    persister.getKeyColumnNames()[0],
+                    persister.getElementColumnNames()[0],
+                    persister.hasIndex() ? persister.getIndexColumnNames()[0] : null);
+        });
+    }
+
+    private static SessionFactoryImplementor getSessionFactory() {
+        return HibernateUtil.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * The physical layout of an entity table.
+     *
+     * @param tableName The name of the table
+     * @param idColumn The column holding the ID of the entity
+     * @param propertyColumns The columns of each single-column property, keyed by the property name
+     */
+    public record EntityTable(String tableName, String idColumn, Map<String, String> propertyColumns) {
+
+        /**
+         * Gets the column of a single-column property.
+         *
+         * @param property The name of the property
+         * @return The column name
+         * @throws IllegalArgumentException if the property is not mapped to a single column
+         */
+        public String column(String property) {
+            var column = propertyColumns.get(property);
+            if (column == null) {
+                throw new IllegalArgumentException("No single column mapped for property '%s' of %s".formatted(property, tableName));
+            }
+
+            return column;
+        }
+    }
+
+    /**
+     * The physical layout of a collection join table.
+     *
+     * @param tableName The name of the table
+     * @param ownerColumn The column holding the ID of the entity owning the collection
+     * @param elementColumn The column holding the ID of the collection element
+     * @param orderColumn The column holding the position of the element in the collection, if the collection is ordered
+     */
+    public record JoinTable(String tableName, String ownerColumn, String elementColumn, @Nullable String orderColumn) {}
+}
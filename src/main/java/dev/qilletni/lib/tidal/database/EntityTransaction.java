@@ -1,20 +1,62 @@
 package dev.qilletni.lib.tidal.database;
 
+import dev.qilletni.lib.tidal.monitoring.DatabaseTransactionEvent;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
 import org.hibernate.Session;
+import org.jetbrains.annotations.Nullable;
 
 public class EntityTransaction implements AutoCloseable {
 
     private final Session session;
+    private final DatabaseTransactionEvent transactionEvent;
+    @Nullable
+    private final TransactionStatistics statistics;
+    @Nullable
+    private final TidalMetrics metrics;
+    private final long startNanos;
 
-    private EntityTransaction(Session session) {
+    private EntityTransaction(Session session, DatabaseTransactionEvent transactionEvent, @Nullable TransactionStatistics statistics, @Nullable TidalMetrics metrics, long startNanos) {
         this.session = session;
+        this.transactionEvent = transactionEvent;
+        this.statistics = statistics;
+        this.metrics = metrics;
+        this.startNanos = startNanos;
     }
     
-    public static EntityTransaction beginTransaction() {
-        var session = HibernateUtil.getSessionFactory().openSession();
+    /**
+     * Opens a session and begins a transaction in it.
+     *
+     * @param operation The operation the transaction is opened for, such as {@code storeTracks}, which the
+     *                  transaction's metrics and events are recorded under
+     * @return The begun transaction
+     */
+    public static EntityTransaction beginTransaction(String operation) {
+        var startNanos = System.nanoTime();
+        var transactionEvent = new DatabaseTransactionEvent(operation, false);
+        transactionEvent.begin();
+
+        var metrics = HibernateUtil.getMetrics();
+
+        // Statements and writes are only counted while they're being recorded
+        TransactionStatistics statistics = null;
+        Session session;
+        if (transactionEvent.isEnabled() || metrics != null) {
+            statistics = new TransactionStatistics();
+            session = HibernateUtil.getSessionFactory().withOptions()
+                    .interceptor(statistics)
+                    .statementInspector(statistics)
+                    .openSession();
+        } else {
+            session = HibernateUtil.getSessionFactory().openSession();
+        }
+
         session.beginTransaction();
 
-        return new EntityTransaction(session);
+        if (metrics != null) {
+            metrics.recordTransactionStarted();
+        }
+
+        return new EntityTransaction(session, transactionEvent, statistics, metrics, startNanos);
     }
 
     public Session getSession() {
@@ -23,7 +65,23 @@ public class EntityTransaction implements AutoCloseable {
 
     @Override
     public void close() {
-        session.getTransaction().commit();
-        session.close();
+        try {
+            session.getTransaction().commit();
+            session.close();
+        } finally {
+            transactionEvent.end();
+
+            if (statistics != null) {
+                transactionEvent.setWork(statistics.getStatements(), statistics.getRowsWritten());
+            }
+
+            if (metrics != null) {
+                metrics.recordTransaction(transactionEvent, System.nanoTime() - startNanos);
+            }
+
+            if (statistics != null && transactionEvent.shouldCommit()) {
+                transactionEvent.commit();
+            }
+        }
     }
 }
@@ -1,17 +1,24 @@
 package dev.qilletni.lib.tidal.database;
 
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public class HibernateUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HibernateUtil.class);
 
     private static SessionFactory sessionFactory;
 
-    public static void initializeSessionFactory(String url, String username, String password) {
+    @Nullable
+    private static TidalMetrics metrics;
+
+    public static void initializeSessionFactory(String url, String username, String password, int batchSize) {
         if (sessionFactory != null) {
             return;
         }
@@ -22,6 +29,7 @@ public class HibernateUtil {
                     .setProperty("hibernate.connection.url", url)
                     .setProperty("hibernate.connection.username", username)
                     .setProperty("hibernate.connection.password", password)
+                    .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
                     .buildSessionFactory();
         } catch (Throwable ex) {
             LOGGER.error("Initial SessionFactory creation failed", ex);
@@ -32,4 +40,34 @@ public class HibernateUtil {
     public static SessionFactory getSessionFactory() {
         return sessionFactory;
     }
+
+    /**
+     * Checks if the database can be reached, by validating a connection from the session factory.
+     *
+     * @param timeout How long to wait for the database to respond
+     * @return If the connection is valid
+     */
+    public static boolean isConnectionValid(Duration timeout) {
+        if (sessionFactory == null) {
+            return false;
+        }
+
+        try (var session = sessionFactory.openSession()) {
+            return session.doReturningWork(connection -> connection.isValid(Math.max(1, (int) timeout.toSeconds())));
+        }
+    }
+
+    /**
+     * Sets the metrics every transaction is recorded in.
+     *
+     * @param transactionMetrics The metrics to record transactions in, or null to stop recording them
+     */
+    public static void setMetrics(@Nullable TidalMetrics transactionMetrics) {
+        metrics = transactionMetrics;
+    }
+
+    @Nullable
+    public static TidalMetrics getMetrics() {
+        return metrics;
+    }
 }
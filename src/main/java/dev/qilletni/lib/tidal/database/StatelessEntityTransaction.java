@@ -0,0 +1,100 @@
+package dev.qilletni.lib.tidal.database;
+
+import dev.qilletni.lib.tidal.monitoring.DatabaseTransactionEvent;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import org.hibernate.StatelessSession;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A transaction around a {@link StatelessSession}, for writing large amounts of entities without the overhead of a
+ * persistence context.
+ */
+public class StatelessEntityTransaction implements AutoCloseable {
+
+    private final StatelessSession session;
+    private final DatabaseTransactionEvent transactionEvent;
+    @Nullable
+    private final TidalMetrics metrics;
+    private final long startNanos;
+
+    // Writers created in this transaction, whose work is recorded once the transaction is closed
+    private final List<BulkUpsertWriter> upsertWriters = new ArrayList<>();
+
+    private StatelessEntityTransaction(StatelessSession session, DatabaseTransactionEvent transactionEvent, @Nullable TidalMetrics metrics, long startNanos) {
+        this.session = session;
+        this.transactionEvent = transactionEvent;
+        this.metrics = metrics;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Opens a session and begins a transaction in it.
+     *
+     * @param operation The operation the transaction is opened for, such as {@code storeTracks}, which the
+     *                  transaction's metrics and events are recorded under
+     * @return The begun transaction
+     */
+    public static StatelessEntityTransaction beginTransaction(String operation) {
+        var startNanos = System.nanoTime();
+        var transactionEvent = new DatabaseTransactionEvent(operation, true);
+        transactionEvent.begin();
+
+        var metrics = HibernateUtil.getMetrics();
+
+        var session = HibernateUtil.getSessionFactory().openStatelessSession();
+        session.beginTransaction();
+
+        if (metrics != null) {
+            metrics.recordTransactionStarted();
+        }
+
+        return new StatelessEntityTransaction(session, transactionEvent, metrics, startNanos);
+    }
+
+    public StatelessSession getSession() {
+        return session;
+    }
+
+    /**
+     * Creates a {@link BulkUpsertWriter} that writes within this transaction.
+     *
+     * @param rowsPerStatement The maximum amount of rows to insert with a single statement
+     * @return The created writer
+     */
+    public BulkUpsertWriter createUpsertWriter(int rowsPerStatement) {
+        var upsertWriter = new BulkUpsertWriter(session.connection(), rowsPerStatement);
+        upsertWriters.add(upsertWriter);
+        return upsertWriter;
+    }
+
+    @Override
+    public void close() {
+        try {
+            session.getTransaction().commit();
+            session.close();
+        } finally {
+            transactionEvent.end();
+
+            // Only the writers' statements are counted, statements sent through the session directly aren't
+            var statements = 0;
+            var rowsWritten = 0L;
+            for (var upsertWriter : upsertWriters) {
+                statements += upsertWriter.getStatementCount();
+                rowsWritten += upsertWriter.getRowsWritten();
+            }
+
+            transactionEvent.setWork(statements, rowsWritten);
+
+            if (metrics != null) {
+                metrics.recordTransaction(transactionEvent, System.nanoTime() - startNanos);
+            }
+
+            if (transactionEvent.shouldCommit()) {
+                transactionEvent.commit();
+            }
+        }
+    }
+}
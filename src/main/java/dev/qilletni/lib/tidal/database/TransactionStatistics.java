@@ -0,0 +1,47 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Counts the SQL statements and entity writes of a single session, for recording what a transaction did.
+ */
+class TransactionStatistics extends EmptyInterceptor implements StatementInspector {
+
+    private int statements;
+    private long rowsWritten;
+
+    @Override
+    public String inspect(String sql) {
+        statements++;
+        return sql;
+    }
+
+    @Override
+    public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        rowsWritten++;
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState, String[] propertyNames, Type[] types) {
+        rowsWritten++;
+        return false;
+    }
+
+    @Override
+    public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        rowsWritten++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+}
@@ -0,0 +1,132 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.qilletni.lib.tidal.music.async.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A local HTTP server for monitoring a running provider, listening on the loopback address only.
+ * <p>
+ * {@code /metrics} serves the provider's metrics in the Prometheus text format, and {@code /health} runs every health
+ * check and responds with their results as JSON, with a {@code 503} status if any of them failed.
+ */
+public class AdminServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminServer.class);
+
+    private final TidalMetrics metrics;
+    private final Map<String, HealthCheck> healthChecks;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Starts an admin server on the loopback address.
+     *
+     * @param metrics The metrics to serve
+     * @param healthChecks The health checks to run, keyed by the name they're reported with
+     * @param executionMode The kind of threads requests are handled on
+     * @param port The port to listen on, or {@code 0} for any free port
+     * @throws IOException if the server couldn't be started
+     */
+    public AdminServer(TidalMetrics metrics, Map<String, HealthCheck> healthChecks, ExecutionMode executionMode, int port) throws IOException {
+        this.metrics = metrics;
+        this.healthChecks = new LinkedHashMap<>(healthChecks);
+        this.executor = executionMode.createExecutor("tidal-admin-");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/health", this::handleHealth);
+        server.setExecutor(executor);
+        server.start();
+
+        LOGGER.info("Tidal admin server listening at http://{}:{}/", server.getAddress().getHostString(), getPort());
+    }
+
+    /**
+     * The port the server is listening on.
+     *
+     * @return The port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!isGet(exchange)) {
+                return;
+            }
+
+            send(exchange, 200, PrometheusTextFormat.CONTENT_TYPE, PrometheusTextFormat.write(metrics.collect()));
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!isGet(exchange)) {
+                return;
+            }
+
+            var allHealthy = true;
+            var checks = new JsonObject();
+
+            for (var entry : healthChecks.entrySet()) {
+                var result = runCheck(entry.getKey(), entry.getValue());
+                allHealthy &= result.healthy();
+
+                var check = new JsonObject();
+                check.addProperty("healthy", result.healthy());
+                check.addProperty("detail", result.detail());
+                checks.add(entry.getKey(), check);
+            }
+
+            var body = new JsonObject();
+            body.addProperty("status", allHealthy ? "UP" : "DOWN");
+            body.add("checks", checks);
+
+            send(exchange, allHealthy ? 200 : 503, "application/json", body.toString());
+        }
+    }
+
+    private static HealthCheck.Result runCheck(String name, HealthCheck healthCheck) {
+        try {
+            return healthCheck.check();
+        } catch (Exception e) {
+            LOGGER.warn("Health check '{}' failed", name, e);
+            return HealthCheck.Result.unhealthy(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static boolean isGet(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestMethod().equals("GET")) {
+            return true;
+        }
+
+        exchange.getResponseHeaders().set("Allow", "GET");
+        exchange.sendResponseHeaders(405, -1);
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
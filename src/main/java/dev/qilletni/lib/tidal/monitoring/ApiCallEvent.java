@@ -0,0 +1,103 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a single request to the Tidal API. The event's duration covers the whole request, including time
+ * spent waiting for the rate limiter and any retries of throttled attempts.
+ */
+@Name("dev.qilletni.tidal.ApiCall")
+@Label("Tidal API Call")
+@Category({"Qilletni", "Tidal"})
+@Description("A request to the Tidal API, including rate limiter waits and retries of throttled attempts")
+@StackTrace(false)
+public class ApiCallEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Endpoint")
+    @Description("The requested path, with IDs replaced by {id}")
+    private String endpoint;
+
+    @Label("Status")
+    @Description("The HTTP status of the final attempt, or 0 if no response was received")
+    private int status;
+
+    @Label("Response Size")
+    @Description("The size of the response body, or -1 if unknown")
+    @DataAmount
+    private long bytes = -1;
+
+    @Label("Retries")
+    private int retries;
+
+    @Label("Rate Limit Wait")
+    @Timespan
+    private long rateLimitWait;
+
+    /**
+     * Adds time spent waiting for the rate limiter before an attempt was sent.
+     *
+     * @param waitNanos The time waited, in nanoseconds
+     */
+    public void addRateLimitWait(long waitNanos) {
+        rateLimitWait += Math.max(0, waitNanos);
+    }
+
+    /**
+     * Sets how many times the request was retried after being throttled.
+     *
+     * @param retries The amount of retries
+     */
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * Sets the request and response details from the response of the final attempt.
+     *
+     * @param response The raw HTTP response
+     */
+    public void setResponse(okhttp3.Response response) {
+        var request = response.request();
+
+        method = request.method();
+        endpoint = ApiEndpoints.getEndpoint(request.url());
+        status = response.code();
+
+        var body = response.body();
+        bytes = body != null ? body.contentLength() : -1;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public long getRateLimitWait() {
+        return rateLimitWait;
+    }
+}
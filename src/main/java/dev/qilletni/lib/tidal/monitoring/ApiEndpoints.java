@@ -0,0 +1,61 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import okhttp3.HttpUrl;
+
+import java.util.regex.Pattern;
+
+/**
+ * Turns API request URLs into endpoint names that are the same for every request to an endpoint, so requests can be
+ * grouped by endpoint.
+ */
+public class ApiEndpoints {
+
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+
+    private static final String RELATIONSHIPS_SEGMENT = "relationships";
+
+    /**
+     * Creates the endpoint name of a request URL. Resource IDs and search queries are replaced with {@code {id}}, and
+     * the query string is left out, so {@code /v2/tracks/123/relationships/albums?countryCode=US} becomes
+     * {@code /v2/tracks/{id}/relationships/albums}.
+     *
+     * @param url The URL of the request
+     * @return The endpoint name
+     */
+    public static String getEndpoint(HttpUrl url) {
+        var segments = url.encodedPathSegments();
+        var endpoint = new StringBuilder();
+
+        // Segments up to and including the API version are kept as they are, the API is versioned as /v2/...
+        var versionIndex = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            if (VERSION_SEGMENT.matcher(segments.get(i)).matches()) {
+                versionIndex = i;
+                break;
+            }
+        }
+
+        // Paths alternate between a resource type and an ID, with the type following "relationships" being kept too
+        var expectingId = false;
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            endpoint.append('/');
+
+            if (i <= versionIndex) {
+                endpoint.append(segment);
+            } else if (expectingId && !RELATIONSHIPS_SEGMENT.equals(segment)) {
+                endpoint.append("{id}");
+                expectingId = false;
+            } else {
+                endpoint.append(segment);
+                expectingId = !RELATIONSHIPS_SEGMENT.equals(segment) && !RELATIONSHIPS_SEGMENT.equals(i > 0 ? segments.get(i - 1) : null);
+            }
+        }
+
+        return endpoint.isEmpty() ? "/" : endpoint.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a lookup of one or more entities in the Tidal music cache, recording where the entities were found.
+ */
+@Name("dev.qilletni.tidal.CacheLookup")
+@Label("Tidal Cache Lookup")
+@Category({"Qilletni", "Tidal"})
+@Description("A lookup of entities in the Tidal music cache, and where they were found")
+public class CacheLookupEvent extends Event {
+
+    @Label("Entity Type")
+    private String entityType;
+
+    @Label("Lookup")
+    @Description("How the entities were looked up, such as by ID or by name")
+    private String lookup;
+
+    @Label("Source")
+    @Description("The slowest place any of the entities were found in, or NONE if nothing was found")
+    private String source = Source.NONE.name();
+
+    @Label("Requested")
+    private int requested;
+
+    @Label("Memory Hits")
+    @Description("Entities found in the in-memory (L1) cache")
+    private int memoryHits;
+
+    @Label("Database Hits")
+    private int databaseHits;
+
+    @Label("API Fetches")
+    @Description("Entities fetched from the API")
+    private int apiFetches;
+
+    /**
+     * Creates a new {@link CacheLookupEvent}.
+     *
+     * @param entityType The name of the type of entity looked up, such as {@code track}
+     * @param lookup How the entities are looked up, such as {@code id}
+     * @param requested The amount of entities requested
+     */
+    public CacheLookupEvent(String entityType, String lookup, int requested) {
+        this.entityType = entityType;
+        this.lookup = lookup;
+        this.requested = requested;
+    }
+
+    /**
+     * Records entities being found in the given place.
+     *
+     * @param source Where the entities were found
+     * @param count The amount of entities found
+     */
+    public void recordHits(Source source, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        switch (source) {
+            case MEMORY -> memoryHits += count;
+            case DATABASE -> databaseHits += count;
+            case API -> apiFetches += count;
+            default -> {}
+        }
+
+        setSource(source);
+    }
+
+    /**
+     * Sets where the lookup was answered from, if it is slower than the current source.
+     *
+     * @param source The source of the lookup's result
+     */
+    public void setSource(Source source) {
+        if (source.ordinal() > getSource().ordinal()) {
+            this.source = source.name();
+        }
+    }
+
+    /**
+     * Resets the source of the lookup, for when a shared lookup turns out to be run by this lookup after all.
+     */
+    public void resetSource() {
+        this.source = Source.NONE.name();
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getLookup() {
+        return lookup;
+    }
+
+    public Source getSource() {
+        return Source.valueOf(source);
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getMemoryHits() {
+        return memoryHits;
+    }
+
+    public int getDatabaseHits() {
+        return databaseHits;
+    }
+
+    public int getApiFetches() {
+        return apiFetches;
+    }
+
+    /**
+     * Where the entities of a lookup were found, from fastest to slowest.
+     */
+    public enum Source {
+        /**
+         * Nothing was found.
+         */
+        NONE,
+        /**
+         * The in-memory (L1) entity cache.
+         */
+        MEMORY,
+        /**
+         * The database.
+         */
+        DATABASE,
+        /**
+         * The lookup joined an identical lookup already in progress, and got its result.
+         */
+        SHARED,
+        /**
+         * The API.
+         */
+        API
+    }
+}
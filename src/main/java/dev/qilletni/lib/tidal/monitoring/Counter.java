@@ -0,0 +1,85 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric counting up, with a separate count for each combination of label values.
+ */
+public class Counter implements Metric {
+
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link Counter}.
+     *
+     * @param name The name of the counter
+     * @param help A description of what is counted
+     * @param labelNames The names of the counter's labels
+     */
+    public Counter(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = List.of(labelNames);
+    }
+
+    /**
+     * Adds to the count of the given label values.
+     *
+     * @param amount The amount to add. Nothing is added if this isn't positive
+     * @param labelValues The values of the labels, in the order of the label names
+     */
+    public void increment(long amount, String... labelValues) {
+        if (amount <= 0) {
+            return;
+        }
+
+        counts.computeIfAbsent(MetricLabels.createKey(labelNames, labelValues), key -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * The current count of the given label values.
+     *
+     * @param labelValues The values of the labels, in the order of the label names
+     * @return The count, or {@code 0} if nothing was counted for the labels
+     */
+    public long get(String... labelValues) {
+        var count = counts.get(Arrays.asList(labelValues));
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * The sum of the counts of every combination of label values.
+     *
+     * @return The total count
+     */
+    public long getTotal() {
+        var total = 0L;
+        for (var count : counts.values()) {
+            total += count.sum();
+        }
+
+        return total;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public MetricFamily collect() {
+        var samples = new ArrayList<MetricSample>(counts.size());
+        counts.forEach((labelValues, count) ->
+                samples.add(new MetricSample(name, MetricLabels.createLabels(labelNames, labelValues), count.sum())));
+
+        return new MetricFamily(name, help, MetricType.COUNTER, samples);
+    }
+}
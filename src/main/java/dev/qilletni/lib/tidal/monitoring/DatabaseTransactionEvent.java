@@ -0,0 +1,74 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a database transaction, from when it begins until it is committed and closed.
+ * <p>
+ * Unlike {@link ApiCallEvent}, stack traces are kept. Transactions are committed on the thread that opened them, so the
+ * stack trace leads back to the cache lookup, and through it the script, that needed the transaction.
+ */
+@Name("dev.qilletni.tidal.DatabaseTransaction")
+@Label("Tidal Database Transaction")
+@Category({"Qilletni", "Tidal"})
+@Description("A database transaction of the Tidal music cache, from its beginning until its commit")
+public class DatabaseTransactionEvent extends Event {
+
+    @Label("Operation")
+    @Description("The operation of the music cache the transaction was opened for")
+    private String operation;
+
+    @Label("Stateless")
+    @Description("If the transaction used a stateless session for bulk writes")
+    private boolean stateless;
+
+    @Label("Statements")
+    @Description("The amount of SQL statements sent in the transaction")
+    private int statements;
+
+    @Label("Rows Written")
+    @Description("The amount of inserted, updated, or deleted rows")
+    private long rowsWritten;
+
+    /**
+     * Creates a new {@link DatabaseTransactionEvent}.
+     *
+     * @param operation The operation the transaction is opened for, such as {@code storeTracks}
+     * @param stateless If the transaction uses a stateless session
+     */
+    public DatabaseTransactionEvent(String operation, boolean stateless) {
+        this.operation = operation;
+        this.stateless = stateless;
+    }
+
+    /**
+     * Sets the work done in the transaction.
+     *
+     * @param statements The amount of SQL statements sent
+     * @param rowsWritten The amount of rows written
+     */
+    public void setWork(int statements, long rowsWritten) {
+        this.statements = statements;
+        this.rowsWritten = rowsWritten;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+}
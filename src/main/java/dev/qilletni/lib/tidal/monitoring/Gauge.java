@@ -0,0 +1,47 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A metric whose value is read from elsewhere whenever it is collected.
+ */
+public class Gauge implements Metric {
+
+    private final String name;
+    private final String help;
+    private final DoubleSupplier valueSupplier;
+
+    /**
+     * Creates a new {@link Gauge}.
+     *
+     * @param name The name of the gauge
+     * @param help A description of what the gauge measures
+     * @param valueSupplier Reads the current value of the gauge
+     */
+    public Gauge(String name, String help, DoubleSupplier valueSupplier) {
+        this.name = name;
+        this.help = help;
+        this.valueSupplier = valueSupplier;
+    }
+
+    /**
+     * The current value of the gauge.
+     *
+     * @return The current value
+     */
+    public double get() {
+        return valueSupplier.getAsDouble();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public MetricFamily collect() {
+        return new MetricFamily(name, help, MetricType.GAUGE, List.of(new MetricSample(name, Map.of(), get())));
+    }
+}
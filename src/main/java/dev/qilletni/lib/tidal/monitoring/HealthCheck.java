@@ -0,0 +1,33 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+/**
+ * Checks if something the provider depends on is working, for the admin server's health endpoint.
+ */
+@FunctionalInterface
+public interface HealthCheck {
+
+    /**
+     * Runs the check.
+     *
+     * @return The result of the check
+     * @throws Exception if the check failed, which is reported as unhealthy
+     */
+    Result check() throws Exception;
+
+    /**
+     * The result of a health check.
+     *
+     * @param healthy If the checked dependency is working
+     * @param detail A short description of the result
+     */
+    record Result(boolean healthy, String detail) {
+
+        public static Result healthy(String detail) {
+            return new Result(true, detail);
+        }
+
+        public static Result unhealthy(String detail) {
+            return new Result(false, detail);
+        }
+    }
+}
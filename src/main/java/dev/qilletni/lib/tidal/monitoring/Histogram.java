@@ -0,0 +1,151 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric counting observed values into fixed buckets, with a separate distribution for each combination of label
+ * values. Collected buckets are cumulative, as Prometheus expects.
+ */
+public class Histogram implements Metric {
+
+    /**
+     * Bucket upper bounds for durations in seconds, from 5 milliseconds to 10 seconds.
+     */
+    public static final double[] DURATION_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final double[] upperBounds;
+    private final Map<List<String>, Distribution> distributions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link Histogram}.
+     *
+     * @param name The name of the histogram
+     * @param help A description of what is observed
+     * @param upperBounds The ascending upper bounds of the buckets, not including the implicit {@code +Inf} bucket
+     * @param labelNames The names of the histogram's labels
+     */
+    public Histogram(String name, String help, double[] upperBounds, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = List.of(labelNames);
+        this.upperBounds = upperBounds.clone();
+    }
+
+    /**
+     * Observes a value for the given label values.
+     *
+     * @param value The observed value
+     * @param labelValues The values of the labels, in the order of the label names
+     */
+    public void observe(double value, String... labelValues) {
+        distributions.computeIfAbsent(MetricLabels.createKey(labelNames, labelValues), key -> new Distribution(upperBounds.length))
+                .observe(value);
+    }
+
+    /**
+     * Observes a duration in seconds for the given label values.
+     *
+     * @param durationNanos The duration, in nanoseconds
+     * @param labelValues The values of the labels, in the order of the label names
+     */
+    public void observeNanos(long durationNanos, String... labelValues) {
+        observe(durationNanos / (double) TimeUnit.SECONDS.toNanos(1), labelValues);
+    }
+
+    /**
+     * The amount of values observed for the given label values.
+     *
+     * @param labelValues The values of the labels, in the order of the label names
+     * @return The observation count
+     */
+    public long getCount(String... labelValues) {
+        var distribution = distributions.get(Arrays.asList(labelValues));
+        return distribution == null ? 0 : distribution.count.sum();
+    }
+
+    /**
+     * The sum of the values observed for the given label values.
+     *
+     * @param labelValues The values of the labels, in the order of the label names
+     * @return The sum of observed values
+     */
+    public double getSum(String... labelValues) {
+        var distribution = distributions.get(Arrays.asList(labelValues));
+        return distribution == null ? 0 : distribution.sum.sum();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public MetricFamily collect() {
+        var samples = new ArrayList<MetricSample>();
+
+        distributions.forEach((labelValues, distribution) -> {
+            var labels = MetricLabels.createLabels(labelNames, labelValues);
+
+            var cumulativeCount = 0L;
+            for (int i = 0; i < upperBounds.length; i++) {
+                cumulativeCount += distribution.buckets[i].sum();
+                samples.add(new MetricSample(name + "_bucket", withBound(labels, Double.toString(upperBounds[i])), cumulativeCount));
+            }
+
+            // Read the count once, so the +Inf bucket and count always agree
+            var count = distribution.count.sum();
+            samples.add(new MetricSample(name + "_bucket", withBound(labels, "+Inf"), count));
+            samples.add(new MetricSample(name + "_sum", labels, distribution.sum.sum()));
+            samples.add(new MetricSample(name + "_count", labels, count));
+        });
+
+        return new MetricFamily(name, help, MetricType.HISTOGRAM, samples);
+    }
+
+    private static Map<String, String> withBound(Map<String, String> labels, String upperBound) {
+        var boundLabels = new LinkedHashMap<>(labels);
+        boundLabels.put("le", upperBound);
+        return boundLabels;
+    }
+
+    /**
+     * The observations of a single combination of label values. Buckets aren't cumulative, each observation is only
+     * counted in the first bucket it fits in, or in none of them if it is over every bound.
+     */
+    private class Distribution {
+
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Distribution(int bucketCount) {
+            buckets = new LongAdder[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void observe(double value) {
+            for (int i = 0; i < upperBounds.length; i++) {
+                if (value <= upperBounds[i]) {
+                    buckets[i].increment();
+                    break;
+                }
+            }
+
+            sum.add(value);
+            count.increment();
+        }
+    }
+}
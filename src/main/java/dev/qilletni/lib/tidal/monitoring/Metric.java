@@ -0,0 +1,21 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+/**
+ * A named metric in a {@link TidalMetrics} registry, which may have a value for each combination of its labels.
+ */
+public interface Metric {
+
+    /**
+     * The name of the metric, in Prometheus naming style.
+     *
+     * @return The metric name
+     */
+    String getName();
+
+    /**
+     * Reads the current values of the metric.
+     *
+     * @return The metric's current values
+     */
+    MetricFamily collect();
+}
@@ -0,0 +1,13 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.List;
+
+/**
+ * The values of a metric at the time it was collected.
+ *
+ * @param name The name of the metric
+ * @param help A description of what the metric measures
+ * @param type The type of the metric
+ * @param samples The values of the metric. Histograms have samples for each bucket, their sum, and their count
+ */
+public record MetricFamily(String name, String help, MetricType type, List<MetricSample> samples) {}
@@ -0,0 +1,43 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for the label values of labeled metrics.
+ */
+class MetricLabels {
+
+    /**
+     * Creates the key a metric's value for the given label values is stored by.
+     *
+     * @param labelNames The names of the metric's labels
+     * @param labelValues The values of the labels, in the order of the label names
+     * @return The key of the label values
+     * @throws IllegalArgumentException if there isn't a value for every label
+     */
+    static List<String> createKey(List<String> labelNames, String[] labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException("Expected values for labels " + labelNames + ", got " + labelValues.length + " values");
+        }
+
+        return List.of(labelValues);
+    }
+
+    /**
+     * Pairs label names with their values.
+     *
+     * @param labelNames The names of the labels
+     * @param labelValues The values of the labels, in the order of the label names
+     * @return The labels, in order
+     */
+    static Map<String, String> createLabels(List<String> labelNames, List<String> labelValues) {
+        var labels = new LinkedHashMap<String, String>();
+        for (int i = 0; i < labelNames.size(); i++) {
+            labels.put(labelNames.get(i), labelValues.get(i));
+        }
+
+        return labels;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.Map;
+
+/**
+ * A single value of a metric.
+ *
+ * @param name The name of the sample, which is the metric name with a suffix such as {@code _bucket} for histograms
+ * @param labels The labels of the value, in order
+ * @param value The value
+ */
+public record MetricSample(String name, Map<String, String> labels, double value) {}
@@ -0,0 +1,19 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+/**
+ * The kinds of metrics, matching the Prometheus metric types.
+ */
+public enum MetricType {
+    /**
+     * A value that only goes up.
+     */
+    COUNTER,
+    /**
+     * A value that may go up and down.
+     */
+    GAUGE,
+    /**
+     * A distribution of observed values, counted into buckets.
+     */
+    HISTOGRAM
+}
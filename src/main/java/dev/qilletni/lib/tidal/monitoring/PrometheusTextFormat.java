@@ -0,0 +1,93 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ */
+public class PrometheusTextFormat {
+
+    /**
+     * The content type of the text format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Writes every metric with its {@code # HELP} and {@code # TYPE} lines, followed by its samples.
+     *
+     * @param families The metrics to write
+     * @return The metrics in the text format
+     */
+    public static String write(List<MetricFamily> families) {
+        var builder = new StringBuilder();
+        for (var family : families) {
+            builder.append("# HELP ").append(family.name()).append(' ').append(escapeHelp(family.help())).append('\n');
+            builder.append("# TYPE ").append(family.name()).append(' ').append(family.type().name().toLowerCase(Locale.ROOT)).append('\n');
+
+            for (var sample : family.samples()) {
+                appendSample(builder, sample);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes a single sample line, as {@code name{label="value"} value}.
+     *
+     * @param builder The builder to write to
+     * @param sample The sample to write
+     */
+    static void appendSample(StringBuilder builder, MetricSample sample) {
+        builder.append(sample.name());
+
+        if (!sample.labels().isEmpty()) {
+            builder.append('{');
+
+            var first = true;
+            for (var label : sample.labels().entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+
+                builder.append(label.getKey()).append("=\"").append(escapeLabelValue(label.getValue())).append('"');
+                first = false;
+            }
+
+            builder.append('}');
+        }
+
+        builder.append(' ').append(formatValue(sample.value())).append('\n');
+    }
+
+    /**
+     * Formats a metric value, leaving out the decimals of whole numbers.
+     *
+     * @param value The value to format
+     * @return The formatted value
+     */
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,240 @@
+package dev.qilletni.lib.tidal.monitoring;
+
+import dev.qilletni.lib.tidal.monitoring.CacheLookupEvent.Source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The metrics of the Tidal service provider, covering cache lookups, API requests, and database transactions.
+ * <p>
+ * Values are kept in memory for the lifetime of the provider, and can be read through the typed getters or all at once
+ * with {@link #collect()}.
+ */
+public class TidalMetrics {
+
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger apiRequestsInFlight = new AtomicInteger();
+    private final AtomicInteger databaseTransactionsInFlight = new AtomicInteger();
+
+    private final Counter cacheLookups = register(new Counter("tidal_cache_lookups_total",
+            "Lookups of entities in the cache", "entity", "lookup"));
+    private final Counter cacheEntities = register(new Counter("tidal_cache_entities_total",
+            "Entities requested from the cache, by where they were found", "entity", "source"));
+
+    private final Histogram apiRequestDuration = register(new Histogram("tidal_api_request_seconds",
+            "Duration of API requests including retries, not counting rate limiter waits", Histogram.DURATION_BUCKETS, "endpoint", "status"));
+    private final Counter apiRetries = register(new Counter("tidal_api_retries_total",
+            "Retries of throttled API requests", "endpoint"));
+    private final Counter apiResponseBytes = register(new Counter("tidal_api_response_bytes_total",
+            "Size of API response bodies with a known length", "endpoint"));
+    private final Histogram rateLimitWait = register(new Histogram("tidal_api_rate_limit_wait_seconds",
+            "Time API requests waited for the rate limiter", Histogram.DURATION_BUCKETS));
+
+    private final Histogram databaseTransactionDuration = register(new Histogram("tidal_db_transaction_seconds",
+            "Duration of database transactions", Histogram.DURATION_BUCKETS, "kind", "operation"));
+    private final Counter databaseStatements = register(new Counter("tidal_db_statements_total",
+            "SQL statements sent in database transactions", "kind", "operation"));
+    private final Counter databaseRowsWritten = register(new Counter("tidal_db_rows_written_total",
+            "Rows inserted, updated, or deleted in database transactions", "kind", "operation"));
+
+    public TidalMetrics() {
+        registerGauge("tidal_api_requests_in_flight", "API requests currently waiting for a response or a retry", apiRequestsInFlight::get);
+        registerGauge("tidal_db_transactions_in_flight", "Database transactions currently open", databaseTransactionsInFlight::get);
+    }
+
+    /**
+     * Adds a gauge, whose value is read whenever metrics are collected.
+     *
+     * @param name The name of the gauge
+     * @param help A description of what the gauge measures
+     * @param valueSupplier Reads the current value of the gauge
+     * @return The added gauge
+     */
+    public Gauge registerGauge(String name, String help, DoubleSupplier valueSupplier) {
+        return register(new Gauge(name, help, valueSupplier));
+    }
+
+    private <M extends Metric> M register(M metric) {
+        metrics.add(metric);
+        return metric;
+    }
+
+    /**
+     * Records the result of a cache lookup.
+     *
+     * @param lookupEvent The event of the finished lookup
+     */
+    public void recordCacheLookup(CacheLookupEvent lookupEvent) {
+        var entityType = lookupEvent.getEntityType();
+        cacheLookups.increment(1, entityType, lookupEvent.getLookup());
+
+        if (lookupEvent.getSource() == Source.SHARED) {
+            cacheEntities.increment(lookupEvent.getRequested(), entityType, "shared");
+            return;
+        }
+
+        cacheEntities.increment(lookupEvent.getMemoryHits(), entityType, "memory");
+        cacheEntities.increment(lookupEvent.getDatabaseHits(), entityType, "database");
+        cacheEntities.increment(lookupEvent.getApiFetches(), entityType, "api");
+
+        var found = lookupEvent.getMemoryHits() + lookupEvent.getDatabaseHits() + lookupEvent.getApiFetches();
+        cacheEntities.increment(lookupEvent.getRequested() - found, entityType, "missing");
+    }
+
+    /**
+     * Records an API request being started, until it is recorded with {@link #recordApiCall(ApiCallEvent, long)}.
+     */
+    public void recordApiCallStarted() {
+        apiRequestsInFlight.incrementAndGet();
+    }
+
+    /**
+     * Records a finished API request.
+     *
+     * @param apiCallEvent The event of the finished request
+     * @param durationNanos How long the request took in total, in nanoseconds
+     */
+    public void recordApiCall(ApiCallEvent apiCallEvent, long durationNanos) {
+        apiRequestsInFlight.decrementAndGet();
+
+        var endpoint = Optional.ofNullable(apiCallEvent.getEndpoint()).orElse("unknown");
+
+        apiRequestDuration.observeNanos(durationNanos - apiCallEvent.getRateLimitWait(), endpoint, Integer.toString(apiCallEvent.getStatus()));
+        apiRetries.increment(apiCallEvent.getRetries(), endpoint);
+        apiResponseBytes.increment(apiCallEvent.getBytes(), endpoint);
+        rateLimitWait.observeNanos(apiCallEvent.getRateLimitWait());
+    }
+
+    /**
+     * Records a database transaction being opened, until it is recorded with
+     * {@link #recordTransaction(DatabaseTransactionEvent, long)}.
+     */
+    public void recordTransactionStarted() {
+        databaseTransactionsInFlight.incrementAndGet();
+    }
+
+    /**
+     * Records a finished database transaction.
+     *
+     * @param transactionEvent The event of the finished transaction
+     * @param durationNanos How long the transaction was open, in nanoseconds
+     */
+    public void recordTransaction(DatabaseTransactionEvent transactionEvent, long durationNanos) {
+        databaseTransactionsInFlight.decrementAndGet();
+
+        var kind = transactionEvent.isStateless() ? "stateless" : "stateful";
+        var operation = transactionEvent.getOperation();
+
+        databaseTransactionDuration.observeNanos(durationNanos, kind, operation);
+        databaseStatements.increment(transactionEvent.getStatements(), kind, operation);
+        databaseRowsWritten.increment(transactionEvent.getRowsWritten(), kind, operation);
+    }
+
+    /**
+     * Reads the current values of every metric.
+     *
+     * @return The values of each metric
+     */
+    public List<MetricFamily> collect() {
+        var families = new ArrayList<MetricFamily>(metrics.size());
+        for (var metric : metrics) {
+            families.add(metric.collect());
+        }
+
+        return families;
+    }
+
+    /**
+     * Finds a metric by its name.
+     *
+     * @param name The name of the metric
+     * @return The metric, if one has the name
+     */
+    public Optional<Metric> getMetric(String name) {
+        for (var metric : metrics) {
+            if (metric.getName().equals(name)) {
+                return Optional.of(metric);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Sums every sample with the given name, across all label values. Histograms can be read by their
+     * {@code _count} and {@code _sum} samples, such as {@code tidal_api_request_seconds_count}.
+     *
+     * @param sampleName The name of the samples to sum
+     * @return The sum of the samples, or {@code 0} if there are none
+     */
+    public double getTotal(String sampleName) {
+        var total = 0D;
+        for (var family : collect()) {
+            for (var sample : family.samples()) {
+                if (sample.name().equals(sampleName)) {
+                    total += sample.value();
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Writes every sample on its own line, as {@code name{label="value"} value}.
+     *
+     * @return The current values of every metric
+     */
+    public String formatSamples() {
+        var builder = new StringBuilder();
+        for (var family : collect()) {
+            for (var sample : family.samples()) {
+                PrometheusTextFormat.appendSample(builder, sample);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    public Counter getCacheLookups() {
+        return cacheLookups;
+    }
+
+    public Counter getCacheEntities() {
+        return cacheEntities;
+    }
+
+    public Histogram getApiRequestDuration() {
+        return apiRequestDuration;
+    }
+
+    public Counter getApiRetries() {
+        return apiRetries;
+    }
+
+    public Counter getApiResponseBytes() {
+        return apiResponseBytes;
+    }
+
+    public Histogram getRateLimitWait() {
+        return rateLimitWait;
+    }
+
+    public Histogram getDatabaseTransactionDuration() {
+        return databaseTransactionDuration;
+    }
+
+    public Counter getDatabaseStatements() {
+        return databaseStatements;
+    }
+
+    public Counter getDatabaseRowsWritten() {
+        return databaseRowsWritten;
+    }
+}
@@ -27,6 +27,18 @@ public class DurationConverter {
             return -1;
         }
 
+        // Track durations are almost always hours, minutes, and seconds, which can be read without allocating
+        var seconds = parseTimeDuration(iso8601Duration);
+        if (seconds >= 0) {
+            return seconds;
+        }
+
+        // Duration.parse only accepts an optional sign followed by a P, anything else would just throw
+        var first = iso8601Duration.charAt(0);
+        if (first != 'P' && first != 'p' && first != '-' && first != '+') {
+            return -1;
+        }
+
         try {
             Duration duration = Duration.parse(iso8601Duration);
             return (int) duration.getSeconds();
@@ -34,4 +46,68 @@ public class DurationConverter {
             return -1;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses a duration made up of only whole hours, minutes, and seconds, such as "PT2M58S", without allocating.
+     *
+     * @param duration The ISO 8601 duration string
+     * @return The duration in seconds, or -1 if the duration is in any other form
+     */
+    private static int parseTimeDuration(String duration) {
+        if (duration.length() < 4 || !duration.startsWith("PT")) {
+            return -1;
+        }
+
+        var totalSeconds = 0L;
+        var value = 0L;
+        var hasDigits = false;
+
+        // Units must be in order, hours (1) before minutes (2) before seconds (3)
+        var lastUnit = 0;
+
+        for (int i = 2; i < duration.length(); i++) {
+            var c = duration.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                hasDigits = true;
+
+                if (value > Integer.MAX_VALUE) {
+                    return -1;
+                }
+
+                continue;
+            }
+
+            int unit;
+            long unitSeconds;
+            if (c == 'H') {
+                unit = 1;
+                unitSeconds = 3600;
+            } else if (c == 'M') {
+                unit = 2;
+                unitSeconds = 60;
+            } else if (c == 'S') {
+                unit = 3;
+                unitSeconds = 1;
+            } else {
+                return -1;
+            }
+
+            if (!hasDigits || unit <= lastUnit) {
+                return -1;
+            }
+
+            totalSeconds += value * unitSeconds;
+            value = 0;
+            hasDigits = false;
+            lastUnit = unit;
+        }
+
+        if (hasDigits || lastUnit == 0 || totalSeconds > Integer.MAX_VALUE) {
+            return -1;
+        }
+
+        return (int) totalSeconds;
+    }
+}
@@ -0,0 +1,26 @@
+package dev.qilletni.lib.tidal.music;
+
+import java.util.Optional;
+
+/**
+ * The outcome of searching for an entity by name. A search that had no results is told apart from one that failed, as
+ * only the former is worth remembering.
+ *
+ * @param result The found entity, empty if the search had no results or failed
+ * @param noResults If the search succeeded, but had no results
+ * @param <T> The type of the searched entity
+ */
+public record SearchOutcome<T>(Optional<T> result, boolean noResults) {
+
+    public static <T> SearchOutcome<T> of(Optional<T> result) {
+        return new SearchOutcome<>(result, false);
+    }
+
+    public static <T> SearchOutcome<T> failed() {
+        return new SearchOutcome<>(Optional.empty(), false);
+    }
+
+    public static <T> SearchOutcome<T> missed() {
+        return new SearchOutcome<>(Optional.empty(), true);
+    }
+}
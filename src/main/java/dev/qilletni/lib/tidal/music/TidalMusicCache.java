@@ -7,29 +7,48 @@ import dev.qilletni.api.music.MusicCache;
 import dev.qilletni.api.music.MusicFetcher;
 import dev.qilletni.api.music.Playlist;
 import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.config.TidalConfig;
+import dev.qilletni.lib.tidal.database.BulkUpsertWriter;
+import dev.qilletni.lib.tidal.database.EntityLookup;
 import dev.qilletni.lib.tidal.database.EntityTransaction;
+import dev.qilletni.lib.tidal.database.StatelessEntityTransaction;
+import dev.qilletni.lib.tidal.monitoring.CacheLookupEvent;
+import dev.qilletni.lib.tidal.monitoring.CacheLookupEvent.Source;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import dev.qilletni.lib.tidal.music.async.StreamingList;
+import dev.qilletni.lib.tidal.music.cache.EntityCache;
+import dev.qilletni.lib.tidal.music.cache.NegativeSearchCache;
+import dev.qilletni.lib.tidal.music.cache.SingleFlight;
 import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
 import dev.qilletni.lib.tidal.music.entities.TidalArtist;
 import dev.qilletni.lib.tidal.music.entities.TidalTrack;
 import dev.qilletni.lib.tidal.music.entities.TidalPlaylist;
 import dev.qilletni.lib.tidal.music.entities.TidalPlaylistIndex;
+import dev.qilletni.lib.tidal.music.entities.TidalSearchMiss.SearchType;
 import dev.qilletni.lib.tidal.music.entities.TidalUser;
+import dev.qilletni.lib.tidal.music.entities.stubs.TidalArtistStub;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalTrackStub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.criteria.Join;
 import java.sql.Date;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -39,13 +58,65 @@ public class TidalMusicCache implements MusicCache {
 
     private final TidalMusicFetcher tidalMusicFetcher;
 
-    public TidalMusicCache(TidalMusicFetcher tidalMusicFetcher) {
+    // In-memory caches checked before the database
+    private final EntityCache<TidalTrack> trackCache;
+    private final EntityCache<TidalAlbum> albumCache;
+    private final EntityCache<TidalArtist> artistCache;
+    private final EntityCache<TidalPlaylist> playlistCache;
+
+    // Name searches known to have no results
+    private final NegativeSearchCache negativeSearchCache;
+
+    // Shares a single fetch between concurrent lookups of the same uncached entity or search
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    // Playlist track lists still being filled in the background, keyed by playlist ID
+    private final Map<String, StreamingList<Track>> loadingPlaylistTracks = new ConcurrentHashMap<>();
+
+    private final Executor backgroundExecutor;
+
+    private final TidalMetrics metrics;
+
+    private final Duration playlistIndexCheckInterval;
+    private final int lookupChunkSize;
+    private final int upsertRowsPerStatement;
+
+    public TidalMusicCache(TidalMusicFetcher tidalMusicFetcher, TidalConfig tidalConfig, NegativeSearchCache negativeSearchCache, Executor backgroundExecutor, TidalMetrics metrics) {
         this.tidalMusicFetcher = tidalMusicFetcher;
+        this.negativeSearchCache = negativeSearchCache;
+        this.backgroundExecutor = backgroundExecutor;
+        this.metrics = metrics;
+        this.playlistIndexCheckInterval = tidalConfig.getPlaylistIndexCheckInterval();
+        this.lookupChunkSize = Math.max(1, tidalConfig.getDatabaseLookupChunkSize());
+        this.upsertRowsPerStatement = tidalConfig.getUpsertRowsPerStatement();
+        this.trackCache = createEntityCache("track", tidalConfig);
+        this.albumCache = createEntityCache("album", tidalConfig);
+        this.artistCache = createEntityCache("artist", tidalConfig);
+        this.playlistCache = createEntityCache("playlist", tidalConfig);
+    }
+
+    /**
+     * The amount of lookups currently loading from the database or API. Concurrent lookups of the same entity share a
+     * single load.
+     *
+     * @return The amount of in-flight loads
+     */
+    public int getInFlightLoadCount() {
+        return singleFlight.inFlightCount();
+    }
+
+    private static <V> EntityCache<V> createEntityCache(String name, TidalConfig tidalConfig) {
+        return new EntityCache<>(name, tidalConfig.getCacheMaxEntries(), tidalConfig.getCacheTtl(), tidalConfig.getCacheEvictionPolicy());
     }
 
     @Override
     public Optional<Track> getTrack(String name, String artist) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("track", "name", 1);
+        return executeLookup(NegativeSearchCache.createKey(SearchType.TRACK, name, artist), lookupEvent, () -> loadTrack(name, artist, lookupEvent));
+    }
+
+    private Optional<Track> loadTrack(String name, String artist, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadTrack")) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -63,85 +134,189 @@ public class TidalMusicCache implements MusicCache {
 
             if (!tracks.isEmpty()) {
                 LOGGER.debug("Returning cached track by name and artist");
+                lookupEvent.recordHits(Source.DATABASE, 1);
                 return Optional.of(tracks.getFirst());
             }
         }
 
+        if (negativeSearchCache.isKnownMiss(SearchType.TRACK, name, artist)) {
+            LOGGER.debug("Previously found no track by name, skipping search");
+            return Optional.empty();
+        }
+
         // Fetch from API, resolve stubs, and store
-        return tidalMusicFetcher.fetchTrack(name, artist)
-                .map(this::storeTrack);
+        return getSearchResult(tidalMusicFetcher.searchTrack(name, artist), SearchType.TRACK, name, artist)
+                .map(track -> recordFetched(lookupEvent, storeTrack(track)));
     }
 
     @Override
     public Optional<Track> getTrackById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("track", "id", 1);
+
+        var memoryCached = trackCache.get(id);
+        if (memoryCached.isPresent()) {
+            LOGGER.debug("Returning in-memory cached track by ID");
+            lookupEvent.recordHits(Source.MEMORY, 1);
+            finishLookup(lookupEvent);
+            return memoryCached.map(Track.class::cast);
+        }
+
+        return executeLookup("track-id:" + id, lookupEvent, () -> loadTrackById(id, lookupEvent));
+    }
+
+    private Optional<Track> loadTrackById(String id, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadTrackById")) {
             var session = entityTransaction.getSession();
 
-            var trackOptional = Optional.<Track>ofNullable(session.find(TidalTrack.class, id));
-            if (trackOptional.isPresent()) {
+            var found = session.find(TidalTrack.class, id);
+            if (found != null) {
                 LOGGER.debug("Returning cached track by ID");
-                return trackOptional;
+                lookupEvent.recordHits(Source.DATABASE, 1);
+                trackCache.put(id, found);
+                return Optional.of(found);
             }
         }
 
         // Fetch from API, resolve stubs, and store
         return tidalMusicFetcher.fetchTrackById(id)
-                .map(this::storeTrack);
+                .map(track -> recordFetched(lookupEvent, storeTrack(track)));
     }
 
     @Override
     public List<Track> getTracks(List<MusicFetcher.TrackNameArtist> list) {
-        // Not yet supported - throws exception like fetcher does
-        return tidalMusicFetcher.fetchTracks(list);
+        var lookupEvent = beginLookup("track", "names", list.size());
+
+        var foundTracks = findStoredTracks(list);
+        lookupEvent.recordHits(Source.DATABASE, foundTracks.size());
+
+        // The search keys of the missing tracks
+        var missingTracks = new LinkedHashMap<MusicFetcher.TrackNameArtist, String>();
+        for (var trackNameArtist : list) {
+            if (!foundTracks.containsKey(trackNameArtist)) {
+                missingTracks.computeIfAbsent(trackNameArtist, missingTrack -> NegativeSearchCache.createKey(SearchType.TRACK, missingTrack.name(), missingTrack.artist()));
+            }
+        }
+
+        var knownMisses = negativeSearchCache.findKnownMisses(SearchType.TRACK, missingTracks.values());
+        missingTracks.values().removeIf(knownMisses::contains);
+
+        LOGGER.debug("Found {} tracks by name in DB, searching for {} missing tracks", foundTracks.size(), missingTracks.size());
+
+        if (!missingTracks.isEmpty()) {
+            var searchedTracks = new HashMap<MusicFetcher.TrackNameArtist, Track>();
+            var missedSearches = new LinkedHashSet<String>();
+
+            tidalMusicFetcher.searchTracks(new ArrayList<>(missingTracks.keySet())).forEach((trackNameArtist, searchOutcome) -> {
+                searchOutcome.result().ifPresent(track -> searchedTracks.put(trackNameArtist, track));
+
+                if (searchOutcome.noResults()) {
+                    missedSearches.add(missingTracks.get(trackNameArtist));
+                }
+            });
+
+            negativeSearchCache.recordMisses(SearchType.TRACK, missedSearches);
+
+            if (!searchedTracks.isEmpty()) {
+                var storedTracks = new HashMap<String, Track>();
+                for (var track : storeTracks(new ArrayList<>(searchedTracks.values())).allTracks()) {
+                    storedTracks.put(track.getId(), track);
+                }
+
+                searchedTracks.forEach((trackNameArtist, track) -> {
+                    var storedTrack = storedTracks.get(track.getId());
+                    if (storedTrack != null) {
+                        foundTracks.put(trackNameArtist, storedTrack);
+                    }
+                });
+
+                lookupEvent.recordHits(Source.API, searchedTracks.size());
+            }
+        }
+
+        finishLookup(lookupEvent);
+
+        return list.stream()
+                .map(foundTracks::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    @Override
-    public List<Track> getTracksById(List<String> trackIds) {
-        var lookupTracks = new HashMap<Integer, String>();
-        var foundTracks = new ArrayList<Track>(Collections.nCopies(trackIds.size(), null));
+    /**
+     * Finds stored tracks by their exact name and the exact name of one of their artists, looking up all names in
+     * chunked queries.
+     *
+     * @param list The names and artists of the tracks to find
+     * @return The found tracks, keyed by the requested name and artist
+     */
+    private Map<MusicFetcher.TrackNameArtist, Track> findStoredTracks(List<MusicFetcher.TrackNameArtist> list) {
+        var requested = new HashSet<>(list);
+        var names = list.stream().map(MusicFetcher.TrackNameArtist::name).distinct().toList();
 
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var foundTracks = new HashMap<MusicFetcher.TrackNameArtist, Track>();
+
+        try (var entityTransaction = EntityTransaction.beginTransaction("findStoredTracks")) {
             var session = entityTransaction.getSession();
 
-            // Check which tracks are in DB
-            for (int i = 0; i < trackIds.size(); i++) {
-                var id = trackIds.get(i);
-                var found = session.find(TidalTrack.class, id);
-                if (found != null) {
-                    LOGGER.debug("Found track at index {}", i);
-                    foundTracks.set(i, found);
-                } else {
-                    LOGGER.debug("Looking up track at index {}", i);
-                    lookupTracks.put(i, id);
+            for (int i = 0; i < names.size(); i += lookupChunkSize) {
+                var tracks = session.createQuery("select t from TidalTrack t where t.name in (:names)", TidalTrack.class)
+                        .setParameterList("names", names.subList(i, Math.min(i + lookupChunkSize, names.size())))
+                        .getResultList();
+
+                for (var track : tracks) {
+                    for (var artist : track.getArtists()) {
+                        var trackNameArtist = new MusicFetcher.TrackNameArtist(track.getName(), artist.getName());
+                        if (requested.contains(trackNameArtist) && foundTracks.putIfAbsent(trackNameArtist, track) == null) {
+                            trackCache.put(track.getId(), track);
+                        }
+                    }
                 }
             }
         }
 
-        LOGGER.debug("Found {} tracks in DB, fetching {} missing tracks",
-                foundTracks.stream().filter(Objects::nonNull).count(), lookupTracks.size());
+        return foundTracks;
+    }
+
+    @Override
+    public List<Track> getTracksById(List<String> trackIds) {
+        var lookupEvent = beginLookup("track", "ids", trackIds.size());
+
+        var trackMap = new HashMap<String, TidalTrack>();
+        var missingIds = lookupCached(trackIds, TidalTrack.class, trackCache, trackMap, lookupEvent);
+
+        LOGGER.debug("Found {} tracks in cache, fetching {} missing tracks", trackMap.size(), missingIds.size());
 
         // Fetch and store missing tracks with full stub resolution
-        if (!lookupTracks.isEmpty()) {
-            var fetched = storeTracks(tidalMusicFetcher.fetchTracksById(new ArrayList<>(lookupTracks.values()))).allTracks();
-            for (var entry : lookupTracks.entrySet()) {
-                var index = entry.getKey();
-                var id = entry.getValue();
-                fetched.stream()
-                        .filter(track -> track.getId().equals(id))
-                        .findFirst()
-                        .ifPresent(track -> foundTracks.set(index, track));
+        if (!missingIds.isEmpty()) {
+            var storedTracks = storeTracks(tidalMusicFetcher.fetchTracksById(missingIds)).allTracks();
+            for (var track : storedTracks) {
+                trackMap.put(track.getId(), (TidalTrack) track);
             }
+
+            lookupEvent.recordHits(Source.API, storedTracks.size());
         }
 
-        // Remove nulls (in case some tracks weren't found)
-        foundTracks.removeIf(Objects::isNull);
+        finishLookup(lookupEvent);
+
+        // Keep the requested order, skipping any tracks that weren't found
+        var foundTracks = new ArrayList<Track>(trackIds.size());
+        for (var id : trackIds) {
+            var track = trackMap.get(id);
+            if (track != null) {
+                foundTracks.add(track);
+            }
+        }
 
         return foundTracks;
     }
 
     @Override
     public Optional<Playlist> getPlaylist(String name, String author) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("playlist", "name", 1);
+        return executeLookup(NegativeSearchCache.createKey(SearchType.PLAYLIST, name, author), lookupEvent, () -> loadPlaylist(name, author, lookupEvent));
+    }
+
+    private Optional<Playlist> loadPlaylist(String name, String author, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadPlaylist")) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -159,37 +334,62 @@ public class TidalMusicCache implements MusicCache {
 
             if (!playlists.isEmpty()) {
                 LOGGER.debug("Returning cached playlist by name and author");
+                lookupEvent.recordHits(Source.DATABASE, 1);
                 return Optional.of(playlists.getFirst());
             }
         }
 
+        if (negativeSearchCache.isKnownMiss(SearchType.PLAYLIST, name, author)) {
+            LOGGER.debug("Previously found no playlist by name, skipping search");
+            return Optional.empty();
+        }
+
         // Fetch from API, resolve user stub, and store
-        return tidalMusicFetcher.fetchPlaylist(name, author)
-                .map(TidalPlaylist.class::cast)
-                .map(this::storePlaylist);
+        return getSearchResult(tidalMusicFetcher.searchPlaylist(name, author), SearchType.PLAYLIST, name, author)
+                .map(playlist -> recordFetched(lookupEvent, storePlaylist((TidalPlaylist) playlist)));
     }
 
     @Override
     public Optional<Playlist> getPlaylistById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("playlist", "id", 1);
+
+        var memoryCached = playlistCache.get(id);
+        if (memoryCached.isPresent()) {
+            LOGGER.debug("Returning in-memory cached playlist by id");
+            lookupEvent.recordHits(Source.MEMORY, 1);
+            finishLookup(lookupEvent);
+            return memoryCached.map(Playlist.class::cast);
+        }
+
+        return executeLookup("playlist-id:" + id, lookupEvent, () -> loadPlaylistById(id, lookupEvent));
+    }
+
+    private Optional<Playlist> loadPlaylistById(String id, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadPlaylistById")) {
             var session = entityTransaction.getSession();
 
-            var playlistOptional = Optional.<Playlist>ofNullable(session.find(TidalPlaylist.class, id));
-            if (playlistOptional.isPresent()) {
+            var found = session.find(TidalPlaylist.class, id);
+            if (found != null) {
                 LOGGER.debug("Returning cached playlist by id");
-                return playlistOptional;
+                lookupEvent.recordHits(Source.DATABASE, 1);
+                playlistCache.put(id, found);
+                return Optional.of(found);
             }
         }
 
         // Fetch from API, resolve user stub, and store
         return tidalMusicFetcher.fetchPlaylistById(id)
-                .map(TidalPlaylist.class::cast)
-                .map(this::storePlaylist);
+                .map(playlist -> recordFetched(lookupEvent, storePlaylist((TidalPlaylist) playlist)));
     }
 
     @Override
     public Optional<Album> getAlbum(String name, String artist) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("album", "name", 1);
+        return executeLookup(NegativeSearchCache.createKey(SearchType.ALBUM, name, artist), lookupEvent, () -> loadAlbum(name, artist, lookupEvent));
+    }
+
+    private Optional<Album> loadAlbum(String name, String artist, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadAlbum")) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -207,32 +407,52 @@ public class TidalMusicCache implements MusicCache {
 
             if (!albums.isEmpty()) {
                 LOGGER.debug("Returning cached album by name");
+                lookupEvent.recordHits(Source.DATABASE, 1);
                 return Optional.of(albums.getFirst());
             }
         }
 
+        if (negativeSearchCache.isKnownMiss(SearchType.ALBUM, name, artist)) {
+            LOGGER.debug("Previously found no album by name, skipping search");
+            return Optional.empty();
+        }
+
         // Fetch from API, resolve artist stubs, and store
-        return tidalMusicFetcher.fetchAlbum(name, artist)
-                .map(TidalAlbum.class::cast)
-                .map(this::storeAlbum);
+        return getSearchResult(tidalMusicFetcher.searchAlbum(name, artist), SearchType.ALBUM, name, artist)
+                .map(album -> recordFetched(lookupEvent, storeAlbum((TidalAlbum) album)));
     }
 
     @Override
     public Optional<Album> getAlbumById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("album", "id", 1);
+
+        var memoryCached = albumCache.get(id);
+        if (memoryCached.isPresent()) {
+            LOGGER.debug("Returning in-memory cached album by id");
+            lookupEvent.recordHits(Source.MEMORY, 1);
+            finishLookup(lookupEvent);
+            return memoryCached.map(Album.class::cast);
+        }
+
+        return executeLookup("album-id:" + id, lookupEvent, () -> loadAlbumById(id, lookupEvent));
+    }
+
+    private Optional<Album> loadAlbumById(String id, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadAlbumById")) {
             var session = entityTransaction.getSession();
 
-            var albumOptional = Optional.<Album>ofNullable(session.find(TidalAlbum.class, id));
-            if (albumOptional.isPresent()) {
+            var found = session.find(TidalAlbum.class, id);
+            if (found != null) {
                 LOGGER.debug("Returning cached album by id");
-                return albumOptional;
+                lookupEvent.recordHits(Source.DATABASE, 1);
+                albumCache.put(id, found);
+                return Optional.of(found);
             }
         }
 
         // Fetch from API, resolve artist stubs, and store
         return tidalMusicFetcher.fetchAlbumById(id)
-                .map(TidalAlbum.class::cast)
-                .map(this::storeAlbum);
+                .map(album -> recordFetched(lookupEvent, storeAlbum((TidalAlbum) album)));
     }
 
     @Override
@@ -246,10 +466,14 @@ public class TidalMusicCache implements MusicCache {
             return albumTracks.stream().map(Track.class::cast).toList();
         }
 
-        LOGGER.debug("Fetching and caching tracks for album {}", album.getId());
+        return singleFlight.execute("album-tracks:" + album.getId(), () -> loadAlbumTracks(tidalAlbum));
+    }
+
+    private List<Track> loadAlbumTracks(TidalAlbum tidalAlbum) {
+        LOGGER.debug("Fetching and caching tracks for album {}", tidalAlbum.getId());
 
         // Fetch from API - these will have stub artists
-        var tracks = tidalMusicFetcher.fetchAlbumTracks(album);
+        var tracks = tidalMusicFetcher.fetchAlbumTracks(tidalAlbum);
 
         // Resolve all stubs and store tracks
         var storedTracks = storeTracks(tracks);
@@ -258,75 +482,258 @@ public class TidalMusicCache implements MusicCache {
         // Update album entity with tracks
         tidalAlbum.setTracks(allTracks.stream().map(TidalTrack.class::cast).toList());
 
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadAlbumTracks")) {
             var session = entityTransaction.getSession();
             session.update(tidalAlbum);
         }
 
+        albumCache.put(tidalAlbum.getId(), tidalAlbum);
+
         return allTracks;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the playlist's tracks need to be fetched, a {@link StreamingList} is returned right away and filled in the
+     * background as each page of the playlist is fetched and stored, so the first tracks can be used before the
+     * whole playlist has been loaded.
+     */
     @Override
     public List<Track> getPlaylistTracks(Playlist playlist) {
         var tidalPlaylist = (TidalPlaylist) playlist;
         var playlistIndex = tidalPlaylist.getTidalPlaylistIndex();
 
-        // Check if index is expired (7 days)
-        var expires = Instant.ofEpochMilli(playlistIndex.getLastUpdatedIndex().getTime())
-                .plus(7, ChronoUnit.DAYS);
+        var loadingTracks = loadingPlaylistTracks.get(playlist.getId());
+        if (loadingTracks != null) {
+            LOGGER.debug("Returning tracks of playlist {} currently being loaded", playlist.getId());
+            return loadingTracks;
+        }
+
+        // Only check for changes once the index is old enough
+        var checkAfter = Instant.ofEpochMilli(playlistIndex.getLastUpdatedIndex().getTime())
+                .plus(playlistIndexCheckInterval);
+
+        LOGGER.debug("Playlist {} index last updated: {}, next check after: {}",
+                playlist.getId(), playlistIndex.getLastUpdatedIndex(), checkAfter);
+
+        if (Instant.now().isAfter(checkAfter) || playlistIndex.getTracks().isEmpty()) {
+            LOGGER.debug("Playlist {} index due for a check or empty, refreshing", playlist.getId());
+
+            return singleFlight.execute("playlist-tracks:" + playlist.getId(), () -> refreshPlaylistIndex(tidalPlaylist));
+        }
+
+        LOGGER.debug("Returning cached tracks for playlist {}", playlist.getId());
+        return playlistIndex.getTracks().stream().map(Track.class::cast).toList();
+    }
+
+    /**
+     * Refreshes the index of a playlist. The playlist's metadata is fetched first, and if it shows the playlist hasn't
+     * changed since it was indexed, the index is kept as is. Otherwise, the playlist's items are loaded in the
+     * background, and only tracks not already in the index are fetched and stored.
+     *
+     * @param tidalPlaylist The playlist to refresh the index of
+     * @return The tracks of the playlist, which may still be loading
+     */
+    private List<Track> refreshPlaylistIndex(TidalPlaylist tidalPlaylist) {
+        // A load may have started between checking for one and entering the flight
+        var loadingTracks = loadingPlaylistTracks.get(tidalPlaylist.getId());
+        if (loadingTracks != null) {
+            return loadingTracks;
+        }
+
+        var playlistIndex = tidalPlaylist.getTidalPlaylistIndex();
+        var indexedTracks = playlistIndex.getTracks();
+
+        // With nothing indexed there's nothing to compare against, the playlist's metadata is as recent as the playlist
+        if (indexedTracks.isEmpty()) {
+            return loadPlaylistTracks(tidalPlaylist, tidalPlaylist, indexedTracks);
+        }
 
-        LOGGER.debug("Playlist {} index last updated: {}, expires: {}",
-                playlist.getId(), playlistIndex.getLastUpdatedIndex(), expires);
+        var latestPlaylist = tidalMusicFetcher.fetchPlaylistById(tidalPlaylist.getId()).map(TidalPlaylist.class::cast);
+        if (latestPlaylist.isEmpty()) {
+            LOGGER.warn("Unable to check playlist {} for changes, using existing index", tidalPlaylist.getId());
+            return indexedTracks.stream().map(Track.class::cast).toList();
+        }
 
-        if (Instant.now().isAfter(expires) || playlistIndex.getTracks().isEmpty()) {
-            LOGGER.debug("Playlist {} index expired or empty, fetching fresh tracks", playlist.getId());
+        // The playlist may be shared with other threads, so the metadata goes on a copy that's stored with the index
+        var refreshedPlaylist = tidalPlaylist.withMetadata(latestPlaylist.get());
 
-            // Fetch track stubs
-            var tracks = tidalMusicFetcher.fetchPlaylistTracks(playlist);
+        if (isPlaylistUnchanged(refreshedPlaylist, playlistIndex)) {
+            LOGGER.debug("Playlist {} unchanged since last indexed, keeping index", tidalPlaylist.getId());
+            updatePlaylistIndex(tidalPlaylist, refreshedPlaylist, indexedTracks);
+            return indexedTracks.stream().map(Track.class::cast).toList();
+        }
 
-            // Resolve all stubs recursively and store
-            var storedTracks = storeTracks(tracks);
-            var allTracks = storedTracks.allTracks();
+        return loadPlaylistTracks(tidalPlaylist, refreshedPlaylist, indexedTracks);
+    }
 
-            // Update playlist index
-            tidalPlaylist.setTidalPlaylistIndex(new TidalPlaylistIndex(
-                    allTracks.stream().map(TidalTrack.class::cast).toList(),
-                    new Date(System.currentTimeMillis())
-            ));
+    /**
+     * Loads the tracks of a playlist in the background one page at a time, reusing tracks from its existing index.
+     * Once every page has been loaded, the index is replaced.
+     *
+     * @param tidalPlaylist The playlist to load the tracks of, which the new index is published to
+     * @param refreshedPlaylist The playlist with up-to-date metadata, which is stored with the new index
+     * @param indexedTracks The tracks in the playlist's existing index
+     * @return The list the tracks are added to as they're loaded
+     */
+    private StreamingList<Track> loadPlaylistTracks(TidalPlaylist tidalPlaylist, TidalPlaylist refreshedPlaylist, List<TidalTrack> indexedTracks) {
+        var streamingTracks = new StreamingList<Track>();
+        loadingPlaylistTracks.put(tidalPlaylist.getId(), streamingTracks);
+
+        CompletableFuture<Void> loadFuture;
+
+        try {
+            loadFuture = CompletableFuture.runAsync(() -> {
+                var trackMap = new HashMap<String, TidalTrack>();
+                indexedTracks.forEach(track -> trackMap.put(track.getId(), track));
+
+                var tracks = new ArrayList<TidalTrack>();
+                var fetched = tidalMusicFetcher.fetchPlaylistTrackPages(refreshedPlaylist, playlistItems -> {
+                    var pageTracks = patchPlaylistTracks(trackMap, playlistItems);
+                    tracks.addAll(pageTracks);
+                    streamingTracks.append(pageTracks);
+                });
+
+                if (fetched) {
+                    updatePlaylistIndex(tidalPlaylist, refreshedPlaylist, tracks);
+                } else {
+                    // Nothing was added, fall back to the existing index without replacing it
+                    streamingTracks.append(indexedTracks);
+                }
+
+                streamingTracks.complete();
+            }, backgroundExecutor);
+        } catch (RejectedExecutionException e) {
+            // The load never started, so nothing else will finish the list or stop returning it
+            streamingTracks.fail(e);
+            loadingPlaylistTracks.remove(tidalPlaylist.getId(), streamingTracks);
+            throw e;
+        }
 
-            try (var entityTransaction = EntityTransaction.beginTransaction()) {
-                var session = entityTransaction.getSession();
-                session.update(tidalPlaylist);
+        loadFuture.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Failed to load tracks of playlist {}", tidalPlaylist.getId(), throwable);
+                streamingTracks.fail(throwable);
             }
 
-            return allTracks;
+            loadingPlaylistTracks.remove(tidalPlaylist.getId(), streamingTracks);
+        });
+
+        return streamingTracks;
+    }
+
+    /**
+     * Stores a new index of a playlist, then publishes it to the playlist and the playlist cache. The index is built
+     * and stored on a copy of the playlist, so threads reading the playlist only ever see a complete index.
+     *
+     * @param tidalPlaylist The playlist to publish the new index to
+     * @param refreshedPlaylist The playlist with up-to-date metadata
+     * @param tracks The tracks of the playlist
+     */
+    private void updatePlaylistIndex(TidalPlaylist tidalPlaylist, TidalPlaylist refreshedPlaylist, List<TidalTrack> tracks) {
+        var indexedPlaylist = refreshedPlaylist.withIndex(new TidalPlaylistIndex(
+                tracks,
+                new Date(System.currentTimeMillis()),
+                refreshedPlaylist.getLastModifiedAt(),
+                refreshedPlaylist.getTrackCount()
+        ));
+
+        try (var entityTransaction = EntityTransaction.beginTransaction("updatePlaylistIndex")) {
+            var session = entityTransaction.getSession();
+            session.update(indexedPlaylist);
+        }
+
+        tidalPlaylist.setTidalPlaylistIndex(indexedPlaylist.getTidalPlaylistIndex());
+        playlistCache.put(indexedPlaylist.getId(), indexedPlaylist);
+    }
+
+    /**
+     * Checks if a playlist hasn't changed since it was indexed, by its last modified time. If the last modified time
+     * isn't known, the playlist's item count is compared to the item count it had when indexed instead.
+     *
+     * @param tidalPlaylist The playlist with up-to-date metadata
+     * @param playlistIndex The existing index of the playlist
+     * @return If the playlist is unchanged
+     */
+    private boolean isPlaylistUnchanged(TidalPlaylist tidalPlaylist, TidalPlaylistIndex playlistIndex) {
+        if (tidalPlaylist.getLastModifiedAt() != null && playlistIndex.getIndexedLastModifiedAt() != null) {
+            return tidalPlaylist.getLastModifiedAt().equals(playlistIndex.getIndexedLastModifiedAt());
         }
 
-        LOGGER.debug("Returning cached tracks for playlist {}", playlist.getId());
-        return playlistIndex.getTracks().stream().map(Track.class::cast).toList();
+        // The indexed tracks leave out videos and unavailable items, so they can't be compared to the item count
+        var indexedItemCount = playlistIndex.getIndexedItemCount();
+        return indexedItemCount != null && tidalPlaylist.getTrackCount() == indexedItemCount;
+    }
+
+    /**
+     * Resolves a page of playlist items to tracks, reusing already known tracks. Only tracks that aren't known yet are
+     * resolved and stored, and are then added to the known tracks.
+     *
+     * @param trackMap The known tracks, keyed by their ID
+     * @param playlistItems The items of the playlist page, which may be stubs
+     * @return The tracks of the page, in the order of the items
+     */
+    private List<TidalTrack> patchPlaylistTracks(Map<String, TidalTrack> trackMap, List<Track> playlistItems) {
+        var addedTracks = playlistItems.stream()
+                .filter(track -> !trackMap.containsKey(track.getId()))
+                .toList();
+
+        LOGGER.debug("Fetching {} new tracks of {} playlist items", addedTracks.size(), playlistItems.size());
+
+        if (!addedTracks.isEmpty()) {
+            for (var track : storeTracks(addedTracks).allTracks()) {
+                trackMap.put(track.getId(), (TidalTrack) track);
+            }
+        }
+
+        return playlistItems.stream()
+                .map(track -> trackMap.get(track.getId()))
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     public Optional<Artist> getArtistById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("artist", "id", 1);
+
+        var memoryCached = artistCache.get(id);
+        if (memoryCached.isPresent()) {
+            LOGGER.debug("Returning in-memory cached artist by id");
+            lookupEvent.recordHits(Source.MEMORY, 1);
+            finishLookup(lookupEvent);
+            return memoryCached.map(Artist.class::cast);
+        }
+
+        return executeLookup("artist-id:" + id, lookupEvent, () -> loadArtistById(id, lookupEvent));
+    }
+
+    private Optional<Artist> loadArtistById(String id, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadArtistById")) {
             var session = entityTransaction.getSession();
 
-            var artistOptional = Optional.<Artist>ofNullable(session.find(TidalArtist.class, id));
-            if (artistOptional.isPresent()) {
+            var found = session.find(TidalArtist.class, id);
+            if (found != null) {
                 LOGGER.debug("Returning cached artist by id");
-                return artistOptional;
+                lookupEvent.recordHits(Source.DATABASE, 1);
+                artistCache.put(id, found);
+                return Optional.of(found);
             }
         }
 
         // Fetch from API and store (artists have no dependencies)
         return tidalMusicFetcher.fetchArtistById(id)
-                .map(TidalArtist.class::cast)
-                .map(this::storeArtist);
+                .map(artist -> recordFetched(lookupEvent, storeArtist((TidalArtist) artist)));
     }
 
     @Override
     public Optional<Artist> getArtistByName(String name) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var lookupEvent = beginLookup("artist", "name", 1);
+        return executeLookup(NegativeSearchCache.createKey(SearchType.ARTIST, name), lookupEvent, () -> loadArtistByName(name, lookupEvent));
+    }
+
+    private Optional<Artist> loadArtistByName(String name, CacheLookupEvent lookupEvent) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("loadArtistByName")) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -339,14 +746,96 @@ public class TidalMusicCache implements MusicCache {
 
             if (!artists.isEmpty()) {
                 LOGGER.debug("Returning cached artist by name");
+                lookupEvent.recordHits(Source.DATABASE, 1);
                 return Optional.of(artists.getFirst());
             }
         }
 
+        if (negativeSearchCache.isKnownMiss(SearchType.ARTIST, name)) {
+            LOGGER.debug("Previously found no artist by name, skipping search");
+            return Optional.empty();
+        }
+
         // Fetch from API and store (artists have no dependencies)
-        return tidalMusicFetcher.fetchArtistByName(name)
-                .map(TidalArtist.class::cast)
-                .map(this::storeArtist);
+        return getSearchResult(tidalMusicFetcher.searchArtistByName(name), SearchType.ARTIST, name)
+                .map(artist -> recordFetched(lookupEvent, storeArtist((TidalArtist) artist)));
+    }
+
+    /**
+     * Creates and begins the event recording a cache lookup.
+     *
+     * @param entityType The name of the type of entity looked up
+     * @param lookup How the entities are looked up
+     * @param requested The amount of entities requested
+     * @return The begun event
+     */
+    private static CacheLookupEvent beginLookup(String entityType, String lookup, int requested) {
+        var lookupEvent = new CacheLookupEvent(entityType, lookup, requested);
+        lookupEvent.begin();
+        return lookupEvent;
+    }
+
+    /**
+     * Records a finished cache lookup in the metrics, and commits its event.
+     *
+     * @param lookupEvent The event of the finished lookup
+     */
+    private void finishLookup(CacheLookupEvent lookupEvent) {
+        metrics.recordCacheLookup(lookupEvent);
+        lookupEvent.commit();
+    }
+
+    /**
+     * Runs a lookup through the single flight, and finishes it once done. If the lookup joins an identical one
+     * already in progress, its source is recorded as shared.
+     *
+     * @param key The single flight key of the lookup
+     * @param lookupEvent The event of the lookup, which the loader records its hits on
+     * @param loader Loads the result if no identical lookup is in progress
+     * @param <T> The type of the result
+     * @return The result of the lookup
+     */
+    private <T> T executeLookup(String key, CacheLookupEvent lookupEvent, Supplier<T> loader) {
+        lookupEvent.setSource(Source.SHARED);
+
+        try {
+            return singleFlight.execute(key, () -> {
+                lookupEvent.resetSource();
+                return loader.get();
+            });
+        } finally {
+            finishLookup(lookupEvent);
+        }
+    }
+
+    /**
+     * Gets the result of a name search, recording the search in the negative search cache if it had no results.
+     *
+     * @param searchOutcome The outcome of the search
+     * @param searchType The type of entity searched for
+     * @param queryParts The parts of the search query, such as a name and an artist
+     * @param <T> The type of the searched entity
+     * @return The found entity, if any
+     */
+    private <T> Optional<T> getSearchResult(SearchOutcome<T> searchOutcome, SearchType searchType, String... queryParts) {
+        if (searchOutcome.noResults()) {
+            negativeSearchCache.recordMiss(searchType, queryParts);
+        }
+
+        return searchOutcome.result();
+    }
+
+    /**
+     * Records an entity as fetched from the API on a lookup's event.
+     *
+     * @param lookupEvent The event of the lookup
+     * @param entity The fetched entity
+     * @param <T> The type of the entity
+     * @return The given entity
+     */
+    private static <T> T recordFetched(CacheLookupEvent lookupEvent, T entity) {
+        lookupEvent.recordHits(Source.API, 1);
+        return entity;
     }
 
     /**
@@ -409,18 +898,23 @@ public class TidalMusicCache implements MusicCache {
         LOGGER.debug("Resolving {} unique albums (which may have stub artists)", albumIds.size());
 
         // Resolve all albums (check DB, fetch missing)
-        // Pass empty artistMap since we haven't resolved artists yet
-        var albumMap = resolveAndFetchAlbums(albumIds, new HashMap<>());
+        // Artists included with fetched albums are collected into albumArtistMap
+        var albumArtistMap = new HashMap<String, TidalArtist>();
+        var albumMap = resolveAndFetchAlbums(albumIds, albumArtistMap);
 
         // Extract artist IDs from the non-stub albums
         for (var album : albumMap.values()) {
             album.getArtists().forEach(a -> allArtistIds.add(a.getId()));
         }
 
+        // Artists already resolved alongside the albums don't need to be looked up again
+        allArtistIds.removeAll(albumArtistMap.keySet());
+
         LOGGER.debug("Resolving {} unique artists from tracks and albums", allArtistIds.size());
 
         // Resolve all artists (check DB, fetch missing)
         var artistMap = resolveAndFetchArtists(new ArrayList<>(allArtistIds));
+        artistMap.putAll(albumArtistMap);
 
         // Albums might have stub artists, reconstruct with full artist references
         var resolvedAlbumMap = new HashMap<String, TidalAlbum>();
@@ -457,231 +951,246 @@ public class TidalMusicCache implements MusicCache {
      * @return The map of artist IDs and artist entities
      */
     private Map<String, TidalArtist> resolveAndFetchArtists(List<String> artistIds) {
-        var artistMap = new HashMap<String, TidalArtist>();
-        var missingIds = new ArrayList<>(artistIds);
+        var lookupEvent = beginLookup("artist", "ids", artistIds.size());
 
-        // Check DB for existing artists
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
-            for (var id : new ArrayList<>(missingIds)) {
-                var found = session.find(TidalArtist.class, id);
-                if (found != null) {
-                    artistMap.put(id, found);
-                    missingIds.remove(id);
-                }
-            }
-        }
+        var artistMap = new HashMap<String, TidalArtist>();
+        var missingIds = lookupCached(artistIds, TidalArtist.class, artistCache, artistMap, lookupEvent);
 
         LOGGER.debug("Found {} artists in DB, fetching {} missing artists", artistMap.size(), missingIds.size());
 
         // Fetch missing artists from API
-        for (var id : missingIds) {
-            var fetched = tidalMusicFetcher.fetchArtistById(id)
-                    .map(TidalArtist.class::cast)
-                    .orElseThrow(() -> new RuntimeException("Failed to fetch artist with ID: " + id));
-            artistMap.put(id, fetched);
+        artistMap.putAll(fetchArtists(missingIds));
+
+        lookupEvent.recordHits(Source.API, missingIds.size());
+        finishLookup(lookupEvent);
+
+        return artistMap;
+    }
+
+    /**
+     * Fetches artists from the API in batches.
+     *
+     * @param artistIds The IDs of the artists to fetch
+     * @return The map of artist IDs and the fetched artist entities
+     * @throws RuntimeException if any of the artists could not be fetched
+     */
+    private Map<String, TidalArtist> fetchArtists(List<String> artistIds) {
+        var artistMap = new HashMap<String, TidalArtist>();
+        if (artistIds.isEmpty()) {
+            return artistMap;
+        }
+
+        for (var artist : tidalMusicFetcher.fetchArtistsById(artistIds)) {
+            artistMap.put(artist.getId(), (TidalArtist) artist);
+        }
+
+        for (var id : artistIds) {
+            if (!artistMap.containsKey(id)) {
+                throw new RuntimeException("Failed to fetch artist with ID: " + id);
+            }
         }
 
         return artistMap;
     }
 
+    /**
+     * Looks up entities in the in-memory cache, then looks up everything not in memory from the database in bulk.
+     * Anything found is added to the given map.
+     *
+     * @param ids The IDs of the entities to look up
+     * @param entityClass The class of the entity
+     * @param entityCache The in-memory cache for the entity type
+     * @param foundEntities The map to put found entities in, keyed by their ID
+     * @param lookupEvent The event to record where entities were found on
+     * @param <T> The type of the entity
+     * @return The IDs that were found in neither the in-memory cache nor the database, in the order given
+     */
+    private <T> List<String> lookupCached(List<String> ids, Class<T> entityClass, EntityCache<T> entityCache, Map<String, T> foundEntities, CacheLookupEvent lookupEvent) {
+        var databaseLookupIds = new ArrayList<String>();
+        for (var id : ids) {
+            entityCache.get(id).ifPresentOrElse(entity -> foundEntities.put(id, entity), () -> databaseLookupIds.add(id));
+        }
+
+        lookupEvent.recordHits(Source.MEMORY, ids.size() - databaseLookupIds.size());
+
+        if (databaseLookupIds.isEmpty()) {
+            return databaseLookupIds;
+        }
+
+        try (var entityTransaction = EntityTransaction.beginTransaction("lookupCached:" + lookupEvent.getEntityType())) {
+            var lookup = EntityLookup.findAllById(entityTransaction.getSession(), entityClass, databaseLookupIds, lookupChunkSize);
+
+            lookupEvent.recordHits(Source.DATABASE, lookup.found().size());
+
+            lookup.found().forEach((id, entity) -> {
+                entityCache.put(id, entity);
+                foundEntities.put(id, entity);
+            });
+
+            return lookup.missingIds();
+        }
+    }
+
     /**
      * Resolve and fetch albums. Handles albums that might have stub artists themselves.
      * Returns a map of album ID to TidalAlbum entity with fully resolved artist references.
+     * Artists resolved for fetched albums are added to the given artist map.
      *
      * @param albumIds The IDs of the albums to resolve
      * @param artistMap Known artists to use as a cache, of their IDs as a key and entities as values
      * @return Resolved album IDs and their entities
      */
     private Map<String, TidalAlbum> resolveAndFetchAlbums(List<String> albumIds, Map<String, TidalArtist> artistMap) {
+        var lookupEvent = beginLookup("album", "ids", albumIds.size());
+
         var albumMap = new HashMap<String, TidalAlbum>();
-        var missingIds = new ArrayList<>(albumIds);
+        var missingIds = lookupCached(albumIds, TidalAlbum.class, albumCache, albumMap, lookupEvent);
 
-        // Check DB for existing albums
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
-            for (var id : new ArrayList<>(missingIds)) {
-                var found = session.find(TidalAlbum.class, id);
-                if (found != null) {
-                    albumMap.put(id, found);
-                    missingIds.remove(id);
-                }
-            }
+        LOGGER.debug("Found {} albums in DB, fetching {} missing albums", albumMap.size(), missingIds.size());
+
+        if (missingIds.isEmpty()) {
+            finishLookup(lookupEvent);
+            return albumMap;
         }
 
-        LOGGER.debug("Found {} albums in DB, fetching {} missing albums", albumMap.size(), missingIds.size());
+        // Fetch missing albums from API in batches, along with their included artists
+        var fetchedAlbums = new HashMap<String, TidalAlbum>();
+        for (var album : tidalMusicFetcher.fetchAlbumsById(missingIds)) {
+            fetchedAlbums.put(album.getId(), (TidalAlbum) album);
+        }
 
-        // Fetch missing albums from API
         for (var id : missingIds) {
-            var fetched = tidalMusicFetcher.fetchAlbumById(id)
-                    .map(TidalAlbum.class::cast)
-                    .orElseThrow(() -> new RuntimeException("Failed to fetch album with ID: " + id));
-
-            // Album might have stub artists - resolve them!
-            var albumArtistIds = fetched.getArtists().stream()
-                    .map(Artist::getId)
-                    .toList();
-
-            // Check if we need to fetch any album artists not in our map
-            for (var artistId : albumArtistIds) {
-                if (!artistMap.containsKey(artistId)) {
-                    LOGGER.debug("Album {} has artist {} not in our map, fetching it", id, artistId);
-                    var artist = tidalMusicFetcher.fetchArtistById(artistId)
-                            .map(TidalArtist.class::cast)
-                            .orElseThrow(() -> new RuntimeException("Failed to fetch artist with ID: " + artistId));
-                    artistMap.put(artistId, artist);
+            if (!fetchedAlbums.containsKey(id)) {
+                throw new RuntimeException("Failed to fetch album with ID: " + id);
+            }
+        }
+
+        lookupEvent.recordHits(Source.API, missingIds.size());
+        finishLookup(lookupEvent);
+
+        // Fill the artist map from the included artists, and collect any artists that weren't included
+        var missingArtistIds = new LinkedHashSet<String>();
+        for (var album : fetchedAlbums.values()) {
+            for (var artist : album.getArtists()) {
+                if (artistMap.containsKey(artist.getId())) {
+                    continue;
+                }
+
+                if (artist instanceof TidalArtistStub) {
+                    missingArtistIds.add(artist.getId());
+                } else {
+                    artistMap.put(artist.getId(), (TidalArtist) artist);
                 }
             }
+        }
+
+        if (!missingArtistIds.isEmpty()) {
+            LOGGER.debug("Albums have {} artists that weren't included, fetching them", missingArtistIds.size());
+            artistMap.putAll(fetchArtists(new ArrayList<>(missingArtistIds)));
+        }
 
+        for (var fetched : fetchedAlbums.values()) {
             // Reconstruct album with full artist references
             var resolvedAlbum = new TidalAlbum(
                     fetched.getId(),
                     fetched.getName(),
-                    albumArtistIds.stream()
-                            .map(artistMap::get)
+                    fetched.getArtists().stream()
+                            .map(a -> artistMap.get(a.getId()))
                             .toList()
             );
 
-            albumMap.put(id, resolvedAlbum);
+            albumMap.put(fetched.getId(), resolvedAlbum);
         }
 
         return albumMap;
     }
 
     /**
-     * Store artists in the database. Returns a map of artist ID to stored TidalArtist.
+     * Store artists in the database, skipping any that are already stored.
      *
+     * @param upsertWriter The writer to store the artists with
      * @param artists The artists to store
-     * @return The map of artist IDs and their entities that have been stored
      */
-    private Map<String, TidalArtist> storeArtists(List<TidalArtist> artists) {
-        var allArtists = new HashMap<String, TidalArtist>();
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+    private void storeArtists(BulkUpsertWriter upsertWriter, List<TidalArtist> artists) {
+        var insertedIds = upsertWriter.upsertArtists(artists);
 
-            for (var artist : artists) {
-                if (allArtists.containsKey(artist.getId())) {
-                    continue;
-                }
+        LOGGER.debug("Stored {} new artists, {} already in DB", insertedIds.size(), artists.size() - insertedIds.size());
 
-                var found = session.find(TidalArtist.class, artist.getId());
-                if (found != null) {
-                    LOGGER.debug("Artist already in DB: {}", found.getId());
-                    allArtists.put(found.getId(), found);
-                } else {
-                    LOGGER.debug("Storing new artist: {}", artist.getId());
-                    session.save(artist);
-                    allArtists.put(artist.getId(), artist);
-                }
-            }
-        }
-        return allArtists;
+        artists.forEach(artist -> artistCache.put(artist.getId(), artist));
     }
 
     /**
-     * Store albums in the database with fully resolved artist references.
-     * Returns a map of album ID to stored TidalAlbum.
+     * Store albums with fully resolved artist references in the database, skipping any that are already stored. The
+     * album artists must already be stored.
      *
+     * @param upsertWriter The writer to store the albums with
      * @param albums The albums to store
-     * @param artistMap A map of artist IDs and their entities to use to lookup
-     * @return The map of album IDs and their entities that have been stored
      */
-    private Map<String, TidalAlbum> storeAlbums(List<TidalAlbum> albums, Map<String, TidalArtist> artistMap) {
-        var allAlbums = new HashMap<String, TidalAlbum>();
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+    private void storeAlbums(BulkUpsertWriter upsertWriter, List<TidalAlbum> albums) {
+        var insertedIds = upsertWriter.upsertAlbums(albums);
 
-            for (var album : albums) {
-                var found = session.find(TidalAlbum.class, album.getId());
-                if (found != null) {
-                    LOGGER.debug("Album already in DB: {}", found.getId());
-                    allAlbums.put(found.getId(), found);
-                } else {
-                    // Ensure album uses artists from artistMap (from DB)
-                    var newAlbum = new TidalAlbum(
-                            album.getId(),
-                            album.getName(),
-                            album.getArtists().stream()
-                                    .map(a -> artistMap.get(a.getId()))
-                                    .toList()
-                    );
-                    LOGGER.debug("Storing new album: {}", newAlbum.getId());
-                    session.save(newAlbum);
-                    allAlbums.put(newAlbum.getId(), newAlbum);
-                }
+        LOGGER.debug("Stored {} new albums, {} already in DB", insertedIds.size(), albums.size() - insertedIds.size());
+
+        // Albums already in the DB may have more data (such as tracks) than these, so only cache new ones
+        for (var album : albums) {
+            if (insertedIds.contains(album.getId())) {
+                albumCache.put(album.getId(), album);
             }
         }
-        return allAlbums;
     }
 
     /**
      * Store tracks with full stub resolution.
-     * This method resolves ALL stubs recursively before storing.
+     * This method resolves ALL stubs recursively before storing, then upserts the tracks along with their artists and
+     * albums in a single transaction.
      *
      * @param addingTracks The tracks to store
      * @return The tracks that have been stored in the database
      */
-    private StoredTracks storeTracks(List<Track> addingTracks) {
+    StoredTracks storeTracks(List<Track> addingTracks) {
         LOGGER.debug("Storing {} tracks", addingTracks.size());
 
         // First resolve ALL stubs recursively (tracks, then nested artists/albums)
         var resolvedTracks = resolveNestedStubs(resolveTrackStubs(addingTracks));
 
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+        // Collect all distinct artists (from tracks and albums)
+        var distinctArtists = resolvedTracks.stream()
+                .flatMap(track -> Stream.concat(
+                        track.getArtists().stream(),
+                        track.getAlbum().getArtists().stream()
+                ))
+                .distinct()
+                .map(TidalArtist.class::cast)
+                .toList();
 
-            // Filter out tracks already in DB
-            var newTracks = resolvedTracks.stream()
-                    .filter(track -> session.find(TidalTrack.class, track.getId()) == null)
-                    .toList();
-
-            LOGGER.debug("Found {} tracks already in DB, storing {} new tracks",
-                    resolvedTracks.size() - newTracks.size(), newTracks.size());
-
-            // Collect all distinct artists (from tracks and albums)
-            var distinctArtists = resolvedTracks.stream()
-                    .flatMap(track -> Stream.concat(
-                            track.getArtists().stream(),
-                            track.getAlbum().getArtists().stream()
-                    ))
-                    .distinct()
-                    .map(TidalArtist.class::cast)
-                    .toList();
-
-            var artistMap = storeArtists(distinctArtists);
-
-            // Collect all distinct albums
-            var distinctAlbums = resolvedTracks.stream()
-                    .map(TidalTrack::getAlbum)
-                    .distinct()
-                    .map(TidalAlbum.class::cast)
-                    .toList();
-
-            var albumMap = storeAlbums(distinctAlbums, artistMap);
-
-            // Store new tracks with DB references
-            var fetchedTracks = new ArrayList<Track>();
-            var allTracks = resolvedTracks.stream().map(track -> {
-                if (newTracks.contains(track)) {
-                    var storedTrack = new TidalTrack(
-                            track.getId(),
-                            track.getName(),
-                            track.getArtists().stream()
-                                    .map(a -> artistMap.get(a.getId()))
-                                    .toList(),
-                            albumMap.get(track.getAlbum().getId()),
-                            track.getDuration()
-                    );
-                    LOGGER.debug("Storing new track: {}", storedTrack.getId());
-                    session.save(storedTrack);
-                    fetchedTracks.add(storedTrack);
-                    return storedTrack;
-                } else {
-                    return (Track) session.find(TidalTrack.class, track.getId());
+        // Collect all distinct albums
+        var distinctAlbums = resolvedTracks.stream()
+                .map(TidalTrack::getAlbum)
+                .distinct()
+                .map(TidalAlbum.class::cast)
+                .toList();
+
+        try (var statelessTransaction = StatelessEntityTransaction.beginTransaction("storeTracks")) {
+            var upsertWriter = statelessTransaction.createUpsertWriter(upsertRowsPerStatement);
+
+            storeArtists(upsertWriter, distinctArtists);
+            storeAlbums(upsertWriter, distinctAlbums);
+
+            var insertedTrackIds = upsertWriter.upsertTracks(resolvedTracks);
+
+            LOGGER.debug("Stored {} new tracks", insertedTrackIds.size());
+
+            // Removing from the inserted IDs ensures tracks in the list multiple times are only counted once. Tracks
+            // already in the DB may differ from these, so like albums, only new ones are cached
+            var fetchedTracks = new ArrayList<Track>(insertedTrackIds.size());
+            for (var track : resolvedTracks) {
+                if (insertedTrackIds.remove(track.getId())) {
+                    fetchedTracks.add(track);
+                    trackCache.put(track.getId(), track);
                 }
-            }).toList();
+            }
 
-            return new StoredTracks(fetchedTracks, allTracks);
+            return new StoredTracks(fetchedTracks, new ArrayList<>(resolvedTracks));
         }
     }
 
@@ -692,7 +1201,11 @@ public class TidalMusicCache implements MusicCache {
      * @return The stored artist entity
      */
     private TidalArtist storeArtist(TidalArtist artist) {
-        return storeArtists(List.of(artist)).values().iterator().next();
+        try (var statelessTransaction = StatelessEntityTransaction.beginTransaction("storeArtist")) {
+            storeArtists(statelessTransaction.createUpsertWriter(upsertRowsPerStatement), List.of(artist));
+        }
+
+        return artist;
     }
 
     /**
@@ -702,8 +1215,28 @@ public class TidalMusicCache implements MusicCache {
      * @return The stored album entity
      */
     private TidalAlbum storeAlbum(TidalAlbum album) {
-        var artistMap = storeArtists(album.getArtists().stream().distinct().map(TidalArtist.class::cast).toList());
-        return storeAlbums(List.of(album), artistMap).values().iterator().next();
+        // Artists not included with the album are stubs, which can't be written
+        var stubArtistIds = album.getArtists().stream()
+                .filter(TidalArtistStub.class::isInstance)
+                .map(Artist::getId)
+                .distinct()
+                .toList();
+
+        if (!stubArtistIds.isEmpty()) {
+            var artistMap = resolveAndFetchArtists(stubArtistIds);
+            album = new TidalAlbum(album.getId(), album.getName(), album.getArtists().stream()
+                    .map(artist -> artistMap.getOrDefault(artist.getId(), (TidalArtist) artist))
+                    .toList());
+        }
+
+        try (var statelessTransaction = StatelessEntityTransaction.beginTransaction("storeAlbum")) {
+            var upsertWriter = statelessTransaction.createUpsertWriter(upsertRowsPerStatement);
+
+            storeArtists(upsertWriter, album.getArtists().stream().distinct().map(TidalArtist.class::cast).toList());
+            storeAlbums(upsertWriter, List.of(album));
+        }
+
+        return album;
     }
 
     /**
@@ -723,13 +1256,14 @@ public class TidalMusicCache implements MusicCache {
      * @return The stored playlist entity
      */
     private TidalPlaylist storePlaylist(TidalPlaylist playlist) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("storePlaylist")) {
             var session = entityTransaction.getSession();
 
             // Check if playlist already exists in DB
             var existingPlaylist = session.find(TidalPlaylist.class, playlist.getId());
             if (existingPlaylist != null) {
                 LOGGER.debug("Playlist already in DB: {}", existingPlaylist.getId());
+                playlistCache.put(existingPlaylist.getId(), existingPlaylist);
                 return existingPlaylist;
             }
 
@@ -742,9 +1276,10 @@ public class TidalMusicCache implements MusicCache {
                 LOGGER.debug("User already in DB: {}", user.getId());
             }
 
-            var newPlaylist = new TidalPlaylist(playlist.getId(), playlist.getTitle(), databaseUser, playlist.getTrackCount());
+            var newPlaylist = new TidalPlaylist(playlist.getId(), playlist.getTitle(), databaseUser, playlist.getTrackCount(), playlist.getLastModifiedAt());
             LOGGER.debug("Storing new playlist: {}", newPlaylist.getId());
             session.save(newPlaylist);
+            playlistCache.put(newPlaylist.getId(), newPlaylist);
             return newPlaylist;
         }
     }
@@ -756,7 +1291,7 @@ public class TidalMusicCache implements MusicCache {
      * @return The stored user entity
      */
     private TidalUser storeUser(TidalUser user) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        try (var entityTransaction = EntityTransaction.beginTransaction("storeUser")) {
             var session = entityTransaction.getSession();
 
             var found = session.find(TidalUser.class, user.getId());
@@ -772,7 +1307,7 @@ public class TidalMusicCache implements MusicCache {
     /**
      * Record to hold results from storeTracks.
      */
-    private record StoredTracks(List<Track> fetchedTracks, List<Track> allTracks) {}
+    record StoredTracks(List<Track> fetchedTracks, List<Track> allTracks) {}
 
     @Override
     public String getIdFromString(String idOrUrl) {
@@ -1,9 +1,10 @@
 package dev.qilletni.lib.tidal.music;
 
-import com.tidal.sdk.tidalapi.generated.TidalApiClient;
 import com.tidal.sdk.tidalapi.generated.models.AlbumsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.AlbumsMultiResourceDataDocument;
 import com.tidal.sdk.tidalapi.generated.models.AlbumsResourceObject;
 import com.tidal.sdk.tidalapi.generated.models.AlbumsSingleResourceDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.ArtistsMultiResourceDataDocument;
 import com.tidal.sdk.tidalapi.generated.models.ArtistsResourceObject;
 import com.tidal.sdk.tidalapi.generated.models.ArtistsSingleResourceDataDocument;
 import com.tidal.sdk.tidalapi.generated.models.IncludedInner;
@@ -27,25 +28,48 @@ import dev.qilletni.api.music.Playlist;
 import dev.qilletni.api.music.Track;
 import dev.qilletni.api.music.User;
 import dev.qilletni.lib.tidal.CoroutineHelper;
+import dev.qilletni.lib.tidal.api.TidalApiServices;
 import dev.qilletni.lib.tidal.api.helper.IncludedInnerWrapper;
 import dev.qilletni.lib.tidal.api.helper.ModelHelper;
+import dev.qilletni.lib.tidal.api.helper.PageCursors;
+import dev.qilletni.lib.tidal.api.ratelimit.AdaptiveRateLimiter;
+import dev.qilletni.lib.tidal.config.TidalConfig;
+import dev.qilletni.lib.tidal.monitoring.ApiCallEvent;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
+import dev.qilletni.lib.tidal.music.async.AsyncHelper;
+import dev.qilletni.lib.tidal.music.cache.NegativeSearchCache;
 import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
 import dev.qilletni.lib.tidal.music.entities.TidalArtist;
 import dev.qilletni.lib.tidal.music.entities.TidalPlaylist;
+import dev.qilletni.lib.tidal.music.entities.TidalSearchMiss.SearchType;
 import dev.qilletni.lib.tidal.music.entities.TidalTrack;
 import dev.qilletni.lib.tidal.music.entities.TidalUser;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalAlbumStub;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalArtistStub;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalTrackStub;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalUserStub;
+import kotlin.coroutines.Continuation;
+import kotlinx.coroutines.CoroutineScope;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Response;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -53,16 +77,38 @@ public class TidalMusicFetcher implements MusicFetcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TidalMusicFetcher.class);
 
+    /**
+     * The maximum amount of IDs the API accepts in a single {@code filter[id]} query.
+     */
+    private static final int MAX_FILTER_IDS = 20;
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private final String countryCode;
-    private final TidalApiClient tidalApi;
+    private final TidalApiServices apiServices;
+    @Nullable
     private final UsersResourceObject currentUser;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final TidalMetrics metrics;
+    private final Executor apiExecutor;
+    private final CoroutineScope apiScope;
+    private final int searchParallelism;
+    private final int maxConcurrentFetches;
+    private final int maxThrottleRetries;
     private final boolean prioritizeUserCollection = true;
     private final boolean caseSensitivePlaylist = true;
 
-    public TidalMusicFetcher(String countryCode, TidalApiClient tidalApi, UsersResourceObject currentUser) {
+    public TidalMusicFetcher(String countryCode, TidalApiServices apiServices, @Nullable UsersResourceObject currentUser, TidalConfig tidalConfig, AdaptiveRateLimiter rateLimiter, Executor apiExecutor, TidalMetrics metrics) {
         this.countryCode = countryCode;
-        this.tidalApi = tidalApi;
+        this.apiServices = apiServices;
         this.currentUser = currentUser;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.apiExecutor = apiExecutor;
+        this.apiScope = CoroutineHelper.createScope(apiExecutor);
+        this.searchParallelism = Math.max(1, tidalConfig.getSearchParallelism());
+        this.maxConcurrentFetches = Math.max(1, tidalConfig.getMaxConcurrentFetches());
+        this.maxThrottleRetries = Math.max(0, tidalConfig.getRateLimitMaxRetries());
     }
 
     /**
@@ -72,6 +118,10 @@ public class TidalMusicFetcher implements MusicFetcher {
      * @return If the given name represents the current user
      */
     private boolean isSelfUser(String name) {
+        if (currentUser == null) {
+            return false;
+        }
+
         var attributes = currentUser.getAttributes();
         if (attributes == null) {
             return false;
@@ -83,6 +133,123 @@ public class TidalMusicFetcher implements MusicFetcher {
 //                name.equalsIgnoreCase("%s %s".formatted(attributes.getFirstName(), attributes.getLastName()).trim());
     }
 
+    /**
+     * Sends a request to the API once the rate limiter allows it, without blocking the calling thread. Throttled
+     * requests are retried after waiting as long as the API asked to, so callers only see a throttled response once
+     * all retries are used up. Each request, along with its retries, is recorded as a single {@link ApiCallEvent} and in the metrics.
+     *
+     * @param suspendCall A function that takes a Continuation and calls the suspend API function
+     * @param <T> The type of the response body
+     * @return A future completing with the response of the request
+     */
+    private <T> CompletableFuture<Response<T>> executeAsync(Function<Continuation<? super Response<T>>, Object> suspendCall) {
+        var startNanos = System.nanoTime();
+        var apiCallEvent = new ApiCallEvent();
+        apiCallEvent.begin();
+        metrics.recordApiCallStarted();
+
+        return executeAsync(suspendCall, 0, apiCallEvent).whenComplete((response, throwable) -> {
+            apiCallEvent.end();
+
+            if (response != null) {
+                apiCallEvent.setResponse(response.raw());
+            }
+
+            metrics.recordApiCall(apiCallEvent, System.nanoTime() - startNanos);
+
+            if (apiCallEvent.shouldCommit()) {
+                apiCallEvent.commit();
+            }
+        });
+    }
+
+    private <T> CompletableFuture<Response<T>> executeAsync(Function<Continuation<? super Response<T>>, Object> suspendCall, int attempt, ApiCallEvent apiCallEvent) {
+        apiCallEvent.setRetries(attempt);
+
+        return awaitRequestSlot(rateLimiter.reserve(), apiCallEvent)
+                .thenCompose(ignored -> CoroutineHelper.runSuspendAsync(apiScope, suspendCall))
+                .thenCompose(response -> {
+                    if (response.code() != HTTP_TOO_MANY_REQUESTS) {
+                        rateLimiter.onSuccess();
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    // Without a Retry-After, back off exponentially
+                    var backoff = Duration.ofSeconds(1L << Math.min(attempt, 5));
+                    var retryAfter = AdaptiveRateLimiter.parseRetryAfter(response.headers().get("Retry-After")).orElse(backoff);
+
+                    rateLimiter.onThrottled(retryAfter);
+
+                    if (attempt >= maxThrottleRetries) {
+                        LOGGER.error("Request still throttled after {} retries", attempt);
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    LOGGER.debug("Retrying throttled request, attempt {} of {}", attempt + 1, maxThrottleRetries);
+
+                    // The throttled response is discarded, release its connection
+                    var errorBody = response.errorBody();
+                    if (errorBody != null) {
+                        errorBody.close();
+                    }
+
+                    return executeAsync(suspendCall, attempt + 1, apiCallEvent);
+                });
+    }
+
+    /**
+     * Waits for a reserved rate limiter slot, then reserves a new one for as long as the API throttled requests in the
+     * meantime, so no request is sent before a {@code Retry-After} has passed.
+     *
+     * @param waitNanos How many nanoseconds to wait until the reserved slot arrives
+     * @param apiCallEvent The event to add the waited time to
+     * @return A future completing once the request may be sent
+     */
+    private CompletableFuture<Void> awaitRequestSlot(long waitNanos, ApiCallEvent apiCallEvent) {
+        apiCallEvent.addRateLimitWait(waitNanos);
+
+        return delay(waitNanos).thenCompose(ignored -> {
+            var recheckNanos = rateLimiter.recheck();
+            return recheckNanos > 0 ? awaitRequestSlot(recheckNanos, apiCallEvent) : CompletableFuture.<Void>completedFuture(null);
+        });
+    }
+
+    private static CompletableFuture<Void> delay(long delayNanos) {
+        if (delayNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Waits for an asynchronous fetch to complete, for the synchronous fetch methods.
+     *
+     * @param future The future to wait for
+     * @param <T> The type of the result
+     * @return The result of the future
+     * @throws RuntimeException if the fetch failed or the thread was interrupted
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private Optional<String> getErrorResponse(Response<?> response) {
         try (var errorBody = response.errorBody()) {
             if (errorBody != null) {
@@ -99,122 +266,334 @@ public class TidalMusicFetcher implements MusicFetcher {
 
     @Override
     public Optional<Track> fetchTrack(String name, String artist) {
+        return await(fetchTrackAsync(name, artist));
+    }
+
+    /**
+     * Searches for a track by its name and artist, and fetches the best match.
+     *
+     * @param name The name of the track
+     * @param artist The name of the artist
+     * @return A future completing with the found track, if any
+     */
+    public CompletableFuture<Optional<Track>> fetchTrackAsync(String name, String artist) {
+        return searchTrackAsync(name, artist).thenApply(SearchOutcome::result);
+    }
+
+    /**
+     * Searches for a track by its name and artist, and fetches the best match.
+     *
+     * @param name The name of the track
+     * @param artist The name of the artist
+     * @return The outcome of the search
+     */
+    public SearchOutcome<Track> searchTrack(String name, String artist) {
+        return await(searchTrackAsync(name, artist));
+    }
+
+    /**
+     * Searches for a track by its name and artist, and fetches the best match, without blocking.
+     *
+     * @param name The name of the track
+     * @param artist The name of the artist
+     * @return A future completing with the outcome of the search
+     */
+    public CompletableFuture<SearchOutcome<Track>> searchTrackAsync(String name, String artist) {
         LOGGER.debug("fetchTrack({}, {})", name, artist);
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    "%s %s".formatted(name, artist),
-                                    countryCode,
-                                    "include",
-                                    List.of("tracks"),
-                                    cont
-                            ));
+        return searchTrackIdAsync(name, artist).thenCompose(trackId -> fetchSearchMatch(trackId, this::fetchTrackByIdAsync));
+    }
 
-            if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getTracks().getData() == null) {
-                LOGGER.error("Failed to fetch track: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+    /**
+     * Searches for a track by its name and artist, and gets the ID of the best match.
+     *
+     * @param name The name of the track
+     * @param artist The name of the artist
+     * @return A future completing with the outcome of the search, holding the ID of the top result
+     */
+    private CompletableFuture<SearchOutcome<String>> searchTrackIdAsync(String name, String artist) {
+        return this.<SearchResultsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getSearchResults().searchResultsIdGet(
+                                "%s %s".formatted(name, artist),
+                                countryCode,
+                                "include",
+                                List.of("tracks"),
+                                cont
+                        ))
+                .thenApply(response -> {
+                    if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getTracks().getData() == null) {
+                        LOGGER.error("Failed to fetch track: {}", getFormatedErrorResponse(response));
+                        return SearchOutcome.<String>failed();
+                    }
 
-            var data = response.body().getData().getRelationships().getTracks().getData().getFirst();
+                    var results = response.body().getData().getRelationships().getTracks().getData();
+                    if (results.isEmpty()) {
+                        LOGGER.debug("No tracks found in search");
+                        return SearchOutcome.<String>missed();
+                    }
 
-            return fetchTrackById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return SearchOutcome.of(Optional.of(results.getFirst().getId()));
+                });
+    }
+
+    /**
+     * Fetches the best match of a search by its ID, if the search found one.
+     *
+     * @param idOutcome The outcome of the search, holding the ID of the best match
+     * @param fetchById Fetches an entity by its ID
+     * @param <T> The type of the searched entity
+     * @return A future completing with the outcome of the search, holding the fetched entity
+     */
+    private static <T> CompletableFuture<SearchOutcome<T>> fetchSearchMatch(SearchOutcome<String> idOutcome, Function<String, CompletableFuture<Optional<T>>> fetchById) {
+        return idOutcome.result()
+                .map(id -> fetchById.apply(id).thenApply(SearchOutcome::of))
+                .orElseGet(() -> CompletableFuture.completedFuture(new SearchOutcome<>(Optional.empty(), idOutcome.noResults())));
     }
 
     @Override
     public Optional<Track> fetchTrackById(String id) {
-        LOGGER.debug("fetchTrack({})", id);
+        return await(fetchTrackByIdAsync(id));
+    }
 
-        try {
-            Response<TracksSingleResourceDataDocument> singleTrackResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createTracks().tracksIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("albums", "artists"),
-                                    cont
-                            ));
+    /**
+     * Fetches a track by its ID, along with its artists and album.
+     *
+     * @param id The ID of the track
+     * @return A future completing with the track, if it could be fetched
+     */
+    public CompletableFuture<Optional<Track>> fetchTrackByIdAsync(String id) {
+        LOGGER.debug("fetchTrack({})", id);
 
-            if (!singleTrackResponse.isSuccessful() || singleTrackResponse.body() == null || singleTrackResponse.body().getData().getRelationships() == null) {
-                LOGGER.error("Failed to fetch track by ID: {}", getFormatedErrorResponse(singleTrackResponse));
-                return Optional.empty();
-            }
+        return this.<TracksSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getTracks().tracksIdGet(
+                                id,
+                                countryCode,
+                                List.of("albums", "artists"),
+                                cont
+                        ))
+                .thenApply(singleTrackResponse -> {
+                    if (!singleTrackResponse.isSuccessful() || singleTrackResponse.body() == null || singleTrackResponse.body().getData().getRelationships() == null) {
+                        LOGGER.error("Failed to fetch track by ID: {}", getFormatedErrorResponse(singleTrackResponse));
+                        return Optional.empty();
+                    }
 
-            return createTrackEntity(singleTrackResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return createTrackEntity(singleTrackResponse.body());
+                });
     }
 
     @Override
     public List<Track> fetchTracks(List<TrackNameArtist> list) {
-        throw new RuntimeException("fetchTracks(List<TrackNameArtist>) not supported!");
+        LOGGER.debug("fetchTracks({} tracks)", list.size());
+
+        var searchOutcomes = searchTracks(list);
+
+        return list.stream()
+                .flatMap(trackNameArtist -> searchOutcomes.get(trackNameArtist).result().stream())
+                .toList();
+    }
+
+    /**
+     * Searches for many tracks by their name and artist at once. Identical searches are only made once, and run
+     * concurrently, with at most the configured amount running at a time. The matches are then fetched in batches.
+     *
+     * @param list The names and artists of the tracks to search for
+     * @return The outcome of each search, keyed by the name and artist it was searched with
+     */
+    public Map<TrackNameArtist, SearchOutcome<Track>> searchTracks(List<TrackNameArtist> list) {
+        return await(searchTracksAsync(list));
     }
 
+    /**
+     * Searches for many tracks by their name and artist at once, without blocking. See {@link #searchTracks(List)}.
+     *
+     * @param list The names and artists of the tracks to search for
+     * @return A future completing with the outcome of each search, keyed by the name and artist it was searched with
+     */
+    public CompletableFuture<Map<TrackNameArtist, SearchOutcome<Track>>> searchTracksAsync(List<TrackNameArtist> list) {
+        // Identical searches after normalization only need to run once
+        var distinctSearches = new LinkedHashMap<String, TrackNameArtist>();
+        for (var trackNameArtist : list) {
+            distinctSearches.putIfAbsent(NegativeSearchCache.createKey(SearchType.TRACK, trackNameArtist.name(), trackNameArtist.artist()), trackNameArtist);
+        }
+
+        LOGGER.debug("Searching for {} distinct tracks of {} requested", distinctSearches.size(), list.size());
+
+        var searchKeys = List.copyOf(distinctSearches.keySet());
+
+        return AsyncHelper.mapBounded(List.copyOf(distinctSearches.values()), searchParallelism, trackNameArtist -> searchTrackIdAsync(trackNameArtist.name(), trackNameArtist.artist()))
+                .thenCompose(searchResults -> {
+                    var idOutcomes = new HashMap<String, SearchOutcome<String>>();
+                    for (int i = 0; i < searchKeys.size(); i++) {
+                        idOutcomes.put(searchKeys.get(i), searchResults.get(i));
+                    }
+
+                    var trackIds = idOutcomes.values().stream()
+                            .flatMap(idOutcome -> idOutcome.result().stream())
+                            .distinct()
+                            .toList();
+
+                    return fetchTracksByIdAsync(trackIds)
+                            .thenApply(tracks -> {
+                                var tracksById = new HashMap<String, Track>();
+                                tracks.forEach(track -> tracksById.put(track.getId(), track));
+
+                                var searchOutcomes = new HashMap<TrackNameArtist, SearchOutcome<Track>>();
+                                for (var trackNameArtist : list) {
+                                    var idOutcome = idOutcomes.get(NegativeSearchCache.createKey(SearchType.TRACK, trackNameArtist.name(), trackNameArtist.artist()));
+                                    searchOutcomes.put(trackNameArtist, idOutcome.result().isPresent()
+                                            ? SearchOutcome.of(idOutcome.result().map(tracksById::get))
+                                            : new SearchOutcome<>(Optional.empty(), idOutcome.noResults()));
+                                }
+
+                                return searchOutcomes;
+                            });
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tracks are requested in batches of the most IDs the API accepts at once. Batches that fail to fetch are
+     * left out.
+     */
     @Override
     public List<Track> fetchTracksById(List<String> list) {
+        return await(fetchTracksByIdAsync(list));
+    }
+
+    /**
+     * Fetches many tracks by their IDs. The tracks are requested in concurrent batches of the most IDs the API
+     * accepts at once, and batches that fail to fetch are left out.
+     *
+     * @param list The IDs of the tracks to fetch
+     * @return A future completing with the fetched tracks, in the order of the batches
+     */
+    public CompletableFuture<List<Track>> fetchTracksByIdAsync(List<String> list) {
         LOGGER.debug("fetchTracksById({})", String.join(", ", list));
 
-        try {
-            Response<TracksMultiResourceDataDocument> multiTrackResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createTracks().tracksGet(
+        return fetchBatches(list, idChunk -> this.<TracksMultiResourceDataDocument>executeAsync(cont ->
+                            apiServices.getTracks().tracksGet(
                                     countryCode,
                                     null,
                                     List.of("albums", "artists"),
                                     null,
                                     null,
-                                    list,
+                                    idChunk,
                                     cont
-                            ));
+                            ))
+                    .thenApply(multiTrackResponse -> {
+                        if (!multiTrackResponse.isSuccessful() || multiTrackResponse.body() == null) {
+                            LOGGER.error("Failed to fetch tracks by ID: {}", getFormatedErrorResponse(multiTrackResponse));
+                            return List.<Track>of();
+                        }
 
-            if (!multiTrackResponse.isSuccessful() || multiTrackResponse.body() == null) {
-                LOGGER.error("Failed to fetch track by ID: {}", getFormatedErrorResponse(multiTrackResponse));
-                return Collections.emptyList();
-            }
+                        var body = multiTrackResponse.body();
 
-            var body = multiTrackResponse.body();
+                        return createTrackList(body.getData(), body.getIncluded());
+                    }));
+    }
 
-            return createTrackList(body.getData(), body.getIncluded());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Fetches entities by their IDs in batches of the most IDs the API accepts at once. Batches are requested
+     * concurrently, with at most the configured amount of concurrent fetches pending at a time.
+     *
+     * @param ids The IDs to fetch
+     * @param batchFetcher Fetches a single batch of IDs
+     * @param <T> The type of the results
+     * @return A future completing with the results of all batches, in order
+     */
+    private <T> CompletableFuture<List<T>> fetchBatches(List<String> ids, Function<List<String>, CompletableFuture<List<T>>> batchFetcher) {
+        return AsyncHelper.mapBounded(partition(ids, MAX_FILTER_IDS), maxConcurrentFetches, batchFetcher)
+                .thenApply(batches -> batches.stream()
+                        .flatMap(List::stream)
+                        .toList());
     }
 
     @Override
     public Optional<Playlist> fetchPlaylist(String name, String author) { // testing
+        return await(fetchPlaylistAsync(name, author));
+    }
+
+    /**
+     * Finds a playlist by its name and author, and fetches it. If the author is the current user, their collection is
+     * checked first, before searching for the playlist.
+     *
+     * @param name The name of the playlist
+     * @param author The name of the playlist's author
+     * @return A future completing with the found playlist, if any
+     */
+    public CompletableFuture<Optional<Playlist>> fetchPlaylistAsync(String name, String author) {
+        return searchPlaylistAsync(name, author).thenApply(SearchOutcome::result);
+    }
+
+    /**
+     * Finds a playlist by its name and author, and fetches it. See {@link #fetchPlaylistAsync(String, String)}.
+     *
+     * @param name The name of the playlist
+     * @param author The name of the playlist's author
+     * @return The outcome of the search
+     */
+    public SearchOutcome<Playlist> searchPlaylist(String name, String author) {
+        return await(searchPlaylistAsync(name, author));
+    }
+
+    /**
+     * Finds a playlist by its name and author, and fetches it, without blocking. See
+     * {@link #fetchPlaylistAsync(String, String)}.
+     *
+     * @param name The name of the playlist
+     * @param author The name of the playlist's author
+     * @return A future completing with the outcome of the search
+     */
+    public CompletableFuture<SearchOutcome<Playlist>> searchPlaylistAsync(String name, String author) {
         LOGGER.debug("fetchPlaylist({}, {})", name, author);
 
-        try {
-            if (prioritizeUserCollection && isSelfUser(author)) {
-                // Check user's collection first
-
-                String nextLink;
-                do {
-                    Response<UserCollectionsPlaylistsMultiRelationshipDataDocument> response =
-                            CoroutineHelper.runSuspend(cont ->
-                                    tidalApi.createUserCollections().userCollectionsIdRelationshipsPlaylistsGet(
-                                            currentUser.getId(),
-                                            null,
-                                            null,
-                                            List.of("playlists"),
-                                            cont
-                                    ));
+        CompletableFuture<Optional<String>> collectionPlaylistId;
+        if (prioritizeUserCollection && isSelfUser(author)) {
+            // Check user's collection first
+            collectionPlaylistId = findCollectionPlaylistIdAsync(name, null);
+        } else {
+            collectionPlaylistId = CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return collectionPlaylistId.thenCompose(playlistId -> {
+            if (playlistId.isPresent()) {
+                return fetchPlaylistByIdAsync(playlistId.get()).thenApply(SearchOutcome::of);
+            }
+
+            LOGGER.debug("Continuing to normal playlist search");
 
+            return searchPlaylistIdAsync(name, author).thenCompose(searchedId -> fetchSearchMatch(searchedId, this::fetchPlaylistByIdAsync));
+        });
+    }
+
+    /**
+     * Finds a playlist in the current user's collection by its name, following the collection's pages until it's
+     * found. Each page is handled on the API executor, so the stack doesn't grow with the amount of pages.
+     *
+     * @param name The name of the playlist
+     * @param pageCursor The cursor of the page to check, or null for the first page
+     * @return A future completing with the ID of the found playlist, or an empty optional if it isn't in the
+     *         collection or the collection could not be fetched
+     */
+    private CompletableFuture<Optional<String>> findCollectionPlaylistIdAsync(String name, @Nullable String pageCursor) {
+        return this.<UserCollectionsPlaylistsMultiRelationshipDataDocument>executeAsync(cont ->
+                        apiServices.getUserCollections().userCollectionsIdRelationshipsPlaylistsGet(
+                                currentUser.getId(),
+                                null,
+                                pageCursor,
+                                List.of("playlists"),
+                                cont
+                        ))
+                .thenComposeAsync(response -> {
                     if (!response.isSuccessful() || response.body() == null /* || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getPlaylists().getData() == null */) {
                         LOGGER.error("Continuing to normal search: Failed to fetch user collection playlist: {}", getFormatedErrorResponse(response));
-                        break;
+                        return CompletableFuture.completedFuture(Optional.empty());
                     }
 
                     var body = response.body();
                     var includedInnerWrapper = new IncludedInnerWrapper(body.getIncluded());
 
-                    nextLink = body.getLinks().getNext();
-
                     Predicate<PlaylistsResourceObject> playlistPredicate;
 
                     if (caseSensitivePlaylist) {
@@ -223,244 +602,471 @@ public class TidalMusicFetcher implements MusicFetcher {
                         playlistPredicate = playlist -> playlist.getAttributes().getName().equalsIgnoreCase(name);
                     }
 
-                    var playlistMatches = body.getData().stream()
-                            .map(playlist -> includedInnerWrapper.getInner(playlist.getId(), PlaylistsResourceObject.class))
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .filter(playlistPredicate)
-                            .toList();
-
-                    if (!playlistMatches.isEmpty()) {
-                        return fetchPlaylistById(playlistMatches.getFirst().getId());
+                    for (var playlistIdentifier : body.getData()) {
+                        var playlist = includedInnerWrapper.find(playlistIdentifier.getId(), PlaylistsResourceObject.class);
+                        if (playlist != null && playlistPredicate.test(playlist)) {
+                            return CompletableFuture.completedFuture(Optional.of(playlist.getId()));
+                        }
                     }
-                } while (nextLink != null);
-            }
-
-            LOGGER.debug("Continuing to normal playlist search");
 
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    "%s %s".formatted(name, author),
-                                    countryCode,
-                                    "include",
-                                    List.of("playlists"),
-                                    cont
-                            ));
+                    return PageCursors.nextCursor(body.getLinks().getNext())
+                            .map(nextCursor -> findCollectionPlaylistIdAsync(name, nextCursor))
+                            .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+                }, apiExecutor);
+    }
 
-            if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getPlaylists().getData() == null) {
-                LOGGER.error("Failed to fetch playlist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+    /**
+     * Searches for a playlist by its name and author, and gets the ID of the best match.
+     *
+     * @param name The name of the playlist
+     * @param author The name of the playlist's author
+     * @return A future completing with the outcome of the search, holding the ID of the top result
+     */
+    private CompletableFuture<SearchOutcome<String>> searchPlaylistIdAsync(String name, String author) {
+        return this.<SearchResultsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getSearchResults().searchResultsIdGet(
+                                "%s %s".formatted(name, author),
+                                countryCode,
+                                "include",
+                                List.of("playlists"),
+                                cont
+                        ))
+                .thenApply(response -> {
+                    if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getPlaylists().getData() == null) {
+                        LOGGER.error("Failed to fetch playlist: {}", getFormatedErrorResponse(response));
+                        return SearchOutcome.<String>failed();
+                    }
 
-            var data = response.body().getData().getRelationships().getPlaylists().getData().getFirst();
+                    var results = response.body().getData().getRelationships().getPlaylists().getData();
+                    if (results.isEmpty()) {
+                        LOGGER.debug("No playlists found in search");
+                        return SearchOutcome.<String>missed();
+                    }
 
-            return fetchPlaylistById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return SearchOutcome.of(Optional.of(results.getFirst().getId()));
+                });
     }
 
     @Override
     public Optional<Playlist> fetchPlaylistById(String id) {
-        LOGGER.debug("fetchPlaylistById({})", id);
+        return await(fetchPlaylistByIdAsync(id));
+    }
 
-        try {
-            Response<PlaylistsSingleResourceDataDocument> singlePlaylistResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createPlaylists().playlistsIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("owners"),
-                                    cont
-                            ));
+    /**
+     * Fetches a playlist by its ID, along with its owner.
+     *
+     * @param id The ID of the playlist
+     * @return A future completing with the playlist, if it could be fetched
+     */
+    public CompletableFuture<Optional<Playlist>> fetchPlaylistByIdAsync(String id) {
+        LOGGER.debug("fetchPlaylistById({})", id);
 
-            if (!singlePlaylistResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch playlist info: {}", getFormatedErrorResponse(singlePlaylistResponse));
-                return Optional.empty();
-            }
+        return this.<PlaylistsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getPlaylists().playlistsIdGet(
+                                id,
+                                countryCode,
+                                List.of("owners"),
+                                cont
+                        ))
+                .thenApply(singlePlaylistResponse -> {
+                    if (!singlePlaylistResponse.isSuccessful()) {
+                        LOGGER.error("Failed to fetch playlist info: {}", getFormatedErrorResponse(singlePlaylistResponse));
+                        return Optional.empty();
+                    }
 
-            return createCollectionEntity(singlePlaylistResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return createCollectionEntity(singlePlaylistResponse.body());
+                });
     }
 
     @Override
     public Optional<Album> fetchAlbum(String name, String artist) {
+        return await(fetchAlbumAsync(name, artist));
+    }
+
+    /**
+     * Searches for an album by its name and artist, and fetches the best match.
+     *
+     * @param name The name of the album
+     * @param artist The name of the artist
+     * @return A future completing with the found album, if any
+     */
+    public CompletableFuture<Optional<Album>> fetchAlbumAsync(String name, String artist) {
+        return searchAlbumAsync(name, artist).thenApply(SearchOutcome::result);
+    }
+
+    /**
+     * Searches for an album by its name and artist, and fetches the best match.
+     *
+     * @param name The name of the album
+     * @param artist The name of the artist
+     * @return The outcome of the search
+     */
+    public SearchOutcome<Album> searchAlbum(String name, String artist) {
+        return await(searchAlbumAsync(name, artist));
+    }
+
+    /**
+     * Searches for an album by its name and artist, and fetches the best match, without blocking.
+     *
+     * @param name The name of the album
+     * @param artist The name of the artist
+     * @return A future completing with the outcome of the search
+     */
+    public CompletableFuture<SearchOutcome<Album>> searchAlbumAsync(String name, String artist) {
         LOGGER.debug("fetchAlbum({}, {})", name, artist);
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    "%s %s".formatted(name, artist),
-                                    countryCode,
-                                    "include",
-                                    List.of("albums"),
-                                    cont
-                            ));
+        return this.<SearchResultsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getSearchResults().searchResultsIdGet(
+                                "%s %s".formatted(name, artist),
+                                countryCode,
+                                "include",
+                                List.of("albums"),
+                                cont
+                        ))
+                .thenCompose(response -> {
+                    if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getAlbums().getData() == null) {
+                        LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
+                        return CompletableFuture.completedFuture(SearchOutcome.<Album>failed());
+                    }
 
-            if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getAlbums().getData() == null) {
-                LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+                    var results = response.body().getData().getRelationships().getAlbums().getData();
+                    if (results.isEmpty()) {
+                        LOGGER.debug("No albums found in search");
+                        return CompletableFuture.completedFuture(SearchOutcome.<Album>missed());
+                    }
 
-            var data = response.body().getData().getRelationships().getAlbums().getData().getFirst();
+                    var data = results.getFirst();
 
-            return fetchAlbumById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return fetchAlbumByIdAsync(data.getId()).thenApply(SearchOutcome::of);
+                });
     }
 
     @Override
     public Optional<Album> fetchAlbumById(String id) {
+        return await(fetchAlbumByIdAsync(id));
+    }
+
+    /**
+     * Fetches an album by its ID, along with its artists.
+     *
+     * @param id The ID of the album
+     * @return A future completing with the album, if it could be fetched
+     */
+    public CompletableFuture<Optional<Album>> fetchAlbumByIdAsync(String id) {
         LOGGER.debug("fetchAlbumById({})", id);
 
-        try {
-            Response<AlbumsSingleResourceDataDocument> singleAlbumResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("artists"),
-                                    cont
-                            ));
+        return this.<AlbumsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getAlbums().albumsIdGet(
+                                id,
+                                countryCode,
+                                List.of("artists"),
+                                cont
+                        ))
+                .thenApply(singleAlbumResponse -> {
+                    if (!singleAlbumResponse.isSuccessful()) {
+                        LOGGER.error("Failed to fetch artist info: {}", getFormatedErrorResponse(singleAlbumResponse));
+                        return Optional.empty();
+                    }
 
-            if (!singleAlbumResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch artist info: {}", getFormatedErrorResponse(singleAlbumResponse));
-                return Optional.empty();
-            }
+                    return createAlbumEntity(singleAlbumResponse.body())
+                            .map(Album.class::cast);
+                });
+    }
 
-            return createAlbumEntity(singleAlbumResponse.body())
-                    .map(Album.class::cast);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Fetches many albums by their IDs along with their artists, using as few requests to the multi-resource albums
+     * endpoint as possible. Album artists are created from the included artists in the same response, and any
+     * artists that were not included are returned as {@link TidalArtistStub}s. Albums that could not be fetched are
+     * left out of the returned list.
+     *
+     * @param ids The IDs of the albums to fetch
+     * @return The fetched albums
+     */
+    public List<Album> fetchAlbumsById(List<String> ids) {
+        return await(fetchAlbumsByIdAsync(ids));
     }
 
-    @Override
-    public List<Track> fetchAlbumTracks(Album album) {
-        LOGGER.debug("fetchAlbumTracks({})", album.getId());
+    /**
+     * Fetches many albums by their IDs along with their artists, requesting batches concurrently. See
+     * {@link #fetchAlbumsById(List)}.
+     *
+     * @param ids The IDs of the albums to fetch
+     * @return A future completing with the fetched albums
+     */
+    public CompletableFuture<List<Album>> fetchAlbumsByIdAsync(List<String> ids) {
+        LOGGER.debug("fetchAlbumsById({})", String.join(", ", ids));
 
-        try {
-            Response<AlbumsSingleResourceDataDocument> singleAlbumResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdGet(
-                                    album.getId(),
+        return fetchBatches(ids, idChunk -> this.<AlbumsMultiResourceDataDocument>executeAsync(cont ->
+                            apiServices.getAlbums().albumsGet(
                                     countryCode,
+                                    null,
                                     List.of("artists"),
+                                    null,
+                                    idChunk,
                                     cont
-                            ));
+                            ))
+                    .thenApply(response -> {
+                        if (!response.isSuccessful() || response.body() == null) {
+                            LOGGER.error("Failed to fetch albums by ID: {}", getFormatedErrorResponse(response));
+                            return List.<Album>of();
+                        }
+
+                        var body = response.body();
+                        var includedInnerWrapper = new IncludedInnerWrapper(body.getIncluded());
+
+                        var albums = new ArrayList<Album>(body.getData().size());
+                        for (var albumsResourceObject : body.getData()) {
+                            albums.add(createAlbumEntityWithIncludedArtists(albumsResourceObject, includedInnerWrapper));
+                        }
+
+                        return albums;
+                    }));
+    }
 
-            if (!singleAlbumResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album info: {}", getFormatedErrorResponse(singleAlbumResponse));
-                return Collections.emptyList();
-            }
+    @Override
+    public List<Track> fetchAlbumTracks(Album album) {
+        return await(fetchAlbumTracksAsync(album));
+    }
 
-            var albumEntity = createAlbumEntity(singleAlbumResponse.body()).get();
+    /**
+     * Fetches the tracks of an album, following the album's pages of tracks.
+     *
+     * @param album The album to fetch the tracks of
+     * @return A future completing with the tracks of the album, or an empty list if the album could not be fetched
+     */
+    public CompletableFuture<List<Track>> fetchAlbumTracksAsync(Album album) {
+        LOGGER.debug("fetchAlbumTracks({})", album.getId());
 
-            Response<AlbumsItemsMultiRelationshipDataDocument> albumItemsResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdRelationshipsItemsGet(
-                                    album.getId(),
-                                    countryCode,
-                                    null,
-                                    List.of("items"),
-                                    cont
-                            ));
+        return this.<AlbumsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getAlbums().albumsIdGet(
+                                album.getId(),
+                                countryCode,
+                                List.of("artists"),
+                                cont
+                        ))
+                .thenCompose(singleAlbumResponse -> {
+                    if (!singleAlbumResponse.isSuccessful()) {
+                        LOGGER.error("Failed to fetch album info: {}", getFormatedErrorResponse(singleAlbumResponse));
+                        return CompletableFuture.completedFuture(Collections.<Track>emptyList());
+                    }
 
-            if (!albumItemsResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album tracks: {}", getFormatedErrorResponse(albumItemsResponse));
-                return Collections.emptyList();
-            }
+                    var albumEntity = createAlbumEntity(singleAlbumResponse.body()).get();
 
-            return createAlbumTrackList(albumEntity, albumItemsResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return fetchAllPagesAsync("album tracks",
+                            pageCursor -> this.<AlbumsItemsMultiRelationshipDataDocument>executeAsync(cont ->
+                                    apiServices.getAlbums().albumsIdRelationshipsItemsGet(
+                                            album.getId(),
+                                            countryCode,
+                                            pageCursor,
+                                            List.of("items"),
+                                            cont
+                                    )),
+                            albumItems -> albumItems.getLinks().getNext(),
+                            albumItems -> createAlbumTrackList(albumEntity, albumItems));
+                });
     }
 
     @Override
     public List<Track> fetchPlaylistTracks(Playlist playlist) {
+        return await(fetchPlaylistTracksAsync(playlist));
+    }
+
+    /**
+     * Fetches the tracks of a playlist, following the playlist's pages of tracks. The tracks are stubs.
+     *
+     * @param playlist The playlist to fetch the tracks of
+     * @return A future completing with the tracks of the playlist, or an empty list if the first page could not be
+     *         fetched
+     */
+    public CompletableFuture<List<Track>> fetchPlaylistTracksAsync(Playlist playlist) {
         LOGGER.debug("fetchPlaylistTracks({})", playlist.getId());
 
-        try {
-            Response<PlaylistsItemsMultiRelationshipDataDocument> playlistItemsResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createPlaylists().playlistsIdRelationshipsItemsGet(
-                                    playlist.getId(),
-                                    countryCode,
-                                    null,
-                                    List.of("items"),
-                                    cont
-                            ));
+        var tracks = new ArrayList<Track>();
+        return fetchPlaylistTrackPagesAsync(playlist, tracks::addAll)
+                .thenApply(ignored -> tracks);
+    }
 
-            if (!playlistItemsResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album items: {}", getFormatedErrorResponse(playlistItemsResponse));
-                return Collections.emptyList();
-            }
+    /**
+     * Fetches the tracks of a playlist one page at a time, handing each page's tracks to the consumer as soon as the
+     * page is fetched. The tracks are stubs. The consumer is called on the calling thread.
+     *
+     * @param playlist The playlist to fetch the tracks of
+     * @param pageConsumer Consumes the tracks of each page, in order
+     * @return If the tracks could be fetched, false if the first page could not be fetched
+     */
+    public boolean fetchPlaylistTrackPages(Playlist playlist, Consumer<List<Track>> pageConsumer) {
+        LOGGER.debug("fetchPlaylistTrackPages({})", playlist.getId());
 
-            return createPlaylistTrackList(playlistItemsResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        return forEachPage("playlist items",
+                createPlaylistItemsPageFetcher(playlist),
+                playlistItems -> playlistItems.getLinks().getNext(),
+                playlistItems -> pageConsumer.accept(createPlaylistTrackList(playlistItems)));
+    }
+
+    /**
+     * Fetches the tracks of a playlist one page at a time without blocking, handing each page's tracks to the
+     * consumer as soon as the page is fetched. The tracks are stubs. The consumer is called on the API executor, one
+     * page at a time.
+     *
+     * @param playlist The playlist to fetch the tracks of
+     * @param pageConsumer Consumes the tracks of each page, in order
+     * @return A future completing with if the tracks could be fetched, false if the first page could not be fetched
+     */
+    public CompletableFuture<Boolean> fetchPlaylistTrackPagesAsync(Playlist playlist, Consumer<List<Track>> pageConsumer) {
+        LOGGER.debug("fetchPlaylistTrackPages({})", playlist.getId());
+
+        return forEachPageAsync("playlist items",
+                createPlaylistItemsPageFetcher(playlist),
+                playlistItems -> playlistItems.getLinks().getNext(),
+                playlistItems -> pageConsumer.accept(createPlaylistTrackList(playlistItems)));
+    }
+
+    private PageFetcher<PlaylistsItemsMultiRelationshipDataDocument> createPlaylistItemsPageFetcher(Playlist playlist) {
+        return pageCursor -> this.<PlaylistsItemsMultiRelationshipDataDocument>executeAsync(cont ->
+                apiServices.getPlaylists().playlistsIdRelationshipsItemsGet(
+                        playlist.getId(),
+                        countryCode,
+                        pageCursor,
+                        List.of("items"),
+                        cont
+                ));
     }
 
     @Override
     public Optional<Artist> fetchArtistById(String id) {
+        return await(fetchArtistByIdAsync(id));
+    }
+
+    /**
+     * Fetches an artist by its ID.
+     *
+     * @param id The ID of the artist
+     * @return A future completing with the artist, if it could be fetched
+     */
+    public CompletableFuture<Optional<Artist>> fetchArtistByIdAsync(String id) {
         LOGGER.debug("fetchArtistById({})", id);
 
-        try {
-            Response<ArtistsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createArtists().artistsIdGet(
-                                    id,
+        return this.<ArtistsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getArtists().artistsIdGet(
+                                id,
+                                countryCode,
+                                List.of(),
+                                cont
+                        ))
+                .thenApply(response -> {
+                    if (!response.isSuccessful() || response.body() == null) {
+                        LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
+                        return Optional.empty();
+                    }
+
+                    var artistsResourceObject = response.body().getData();
+
+                    return Optional.of(createArtistEntity(artistsResourceObject));
+                });
+    }
+
+    /**
+     * Fetches many artists by their IDs, using as few requests to the multi-resource artists endpoint as possible.
+     * Artists that could not be fetched are left out of the returned list.
+     *
+     * @param ids The IDs of the artists to fetch
+     * @return The fetched artists
+     */
+    public List<Artist> fetchArtistsById(List<String> ids) {
+        return await(fetchArtistsByIdAsync(ids));
+    }
+
+    /**
+     * Fetches many artists by their IDs, requesting batches concurrently. See {@link #fetchArtistsById(List)}.
+     *
+     * @param ids The IDs of the artists to fetch
+     * @return A future completing with the fetched artists
+     */
+    public CompletableFuture<List<Artist>> fetchArtistsByIdAsync(List<String> ids) {
+        LOGGER.debug("fetchArtistsById({})", String.join(", ", ids));
+
+        return fetchBatches(ids, idChunk -> this.<ArtistsMultiResourceDataDocument>executeAsync(cont ->
+                            apiServices.getArtists().artistsGet(
                                     countryCode,
+                                    null,
                                     List.of(),
+                                    null,
+                                    idChunk,
                                     cont
-                            ));
+                            ))
+                    .thenApply(response -> {
+                        if (!response.isSuccessful() || response.body() == null) {
+                            LOGGER.error("Failed to fetch artists by ID: {}", getFormatedErrorResponse(response));
+                            return List.<Artist>of();
+                        }
+
+                        var artists = new ArrayList<Artist>(response.body().getData().size());
+                        for (var artistsResourceObject : response.body().getData()) {
+                            artists.add(createArtistEntity(artistsResourceObject));
+                        }
+
+                        return artists;
+                    }));
+    }
 
-            if (!response.isSuccessful() || response.body() == null) {
-                LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+    @Override
+    public Optional<Artist> fetchArtistByName(String name) {
+        return await(fetchArtistByNameAsync(name));
+    }
 
-            var artistsResourceObject = response.body().getData();
+    /**
+     * Searches for an artist by name, and fetches the best match.
+     *
+     * @param name The name of the artist
+     * @return A future completing with the found artist, if any
+     */
+    public CompletableFuture<Optional<Artist>> fetchArtistByNameAsync(String name) {
+        return searchArtistByNameAsync(name).thenApply(SearchOutcome::result);
+    }
 
-            return Optional.of(createArtistEntity(artistsResourceObject));
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Searches for an artist by name, and fetches the best match.
+     *
+     * @param name The name of the artist
+     * @return The outcome of the search
+     */
+    public SearchOutcome<Artist> searchArtistByName(String name) {
+        return await(searchArtistByNameAsync(name));
     }
 
-    @Override
-    public Optional<Artist> fetchArtistByName(String name) {
+    /**
+     * Searches for an artist by name, and fetches the best match, without blocking.
+     *
+     * @param name The name of the artist
+     * @return A future completing with the outcome of the search
+     */
+    public CompletableFuture<SearchOutcome<Artist>> searchArtistByNameAsync(String name) {
         LOGGER.debug("fetchArtistByName({})", name);
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    name,
-                                    countryCode,
-                                    "include",
-                                    List.of("artists"),
-                                    cont
-                            ));
+        return this.<SearchResultsSingleResourceDataDocument>executeAsync(cont ->
+                        apiServices.getSearchResults().searchResultsIdGet(
+                                name,
+                                countryCode,
+                                "include",
+                                List.of("artists"),
+                                cont
+                        ))
+                .thenCompose(response -> {
+                    if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getArtists().getData() == null) {
+                        LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
+                        return CompletableFuture.completedFuture(SearchOutcome.<Artist>failed());
+                    }
 
-            if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getArtists().getData() == null) {
-                LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+                    var results = response.body().getData().getRelationships().getArtists().getData();
+                    if (results.isEmpty()) {
+                        LOGGER.debug("No artists found in search");
+                        return CompletableFuture.completedFuture(SearchOutcome.<Artist>missed());
+                    }
 
-            var data = response.body().getData().getRelationships().getArtists().getData().getFirst();
+                    var data = results.getFirst();
 
-            return fetchArtistById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                    return fetchArtistByIdAsync(data.getId()).thenApply(SearchOutcome::of);
+                });
     }
 
     private Optional<Track> createTrackEntity(@Nullable TracksSingleResourceDataDocument track) {
@@ -471,15 +1077,41 @@ public class TidalMusicFetcher implements MusicFetcher {
         var trackData = track.getData();
 
         var includedInnerWrapper = new IncludedInnerWrapper(track.getIncluded());
+        var relationships = trackData.getRelationships();
+
+        var artistIdentifiers = relationships.getArtists().getData();
+        var artists = new ArrayList<TidalArtist>(artistIdentifiers == null ? 0 : artistIdentifiers.size());
+        if (artistIdentifiers != null) {
+            for (var artistIdentifier : artistIdentifiers) {
+                var artist = includedInnerWrapper.find(artistIdentifier.getId(), ArtistsResourceObject.class);
+                if (artist != null) {
+                    artists.add(createArtistEntityStub(artist));
+                }
+            }
+        }
+
+        // Only the first included album is used
+        AlbumsResourceObject album = null;
+        var albumIdentifiers = relationships.getAlbums().getData();
+        if (albumIdentifiers != null) {
+            for (var albumIdentifier : albumIdentifiers) {
+                album = includedInnerWrapper.find(albumIdentifier.getId(), AlbumsResourceObject.class);
+                if (album != null) {
+                    break;
+                }
+            }
+        }
 
-        var artists = ModelHelper.collectIncludeInners(includedInnerWrapper, trackData.getRelationships().getArtists().getData(), ArtistsResourceObject.class);
-        var albums = ModelHelper.collectIncludeInners(includedInnerWrapper, trackData.getRelationships().getAlbums().getData(), AlbumsResourceObject.class);
+        if (album == null) {
+            throw new NoSuchElementException("No album of track " + trackData.getId() + " was included");
+        }
 
+        var attributes = trackData.getAttributes();
         return Optional.of(new TidalTrack(trackData.getId(),
-                trackData.getAttributes().getTitle(),
-                artists.stream().map(this::createArtistEntityStub).toList(),
-                createAlbumEntityStub(albums.getFirst()),
-                DurationConverter.parseDurationToSeconds(trackData.getAttributes().getDuration())));
+                attributes.getTitle(),
+                artists,
+                createAlbumEntityStub(album),
+                DurationConverter.parseDurationToSeconds(attributes.getDuration())));
     }
 
     private Optional<Playlist> createCollectionEntity(@Nullable PlaylistsSingleResourceDataDocument playlist) {
@@ -497,7 +1129,10 @@ public class TidalMusicFetcher implements MusicFetcher {
         var owners = ModelHelper.collectIncludeInners(includedInnerWrapper, playlistData.getRelationships().getOwners().getData(), UsersResourceObject.class);
         var firstOwner = owners.getFirst();
 
-        return Optional.of(new TidalPlaylist(playlistData.getId(), playlistData.getAttributes().getName(), createUserEntity(firstOwner), playlistData.getAttributes().getNumberOfItems()));
+        var attributes = playlistData.getAttributes();
+        var lastModifiedAt = attributes.getLastModifiedAt() != null ? attributes.getLastModifiedAt().toInstant() : null;
+
+        return Optional.of(new TidalPlaylist(playlistData.getId(), attributes.getName(), createUserEntity(firstOwner), attributes.getNumberOfItems(), lastModifiedAt));
     }
 
     private TidalUser createUserEntity(UsersResourceObject user) {
@@ -514,87 +1149,289 @@ public class TidalMusicFetcher implements MusicFetcher {
 
         var includedInnerWrapper = new IncludedInnerWrapper(album.getIncluded());
 
-        var artists = ModelHelper.collectIncludeInners(includedInnerWrapper, albumData.getRelationships().getArtists().getData(), ArtistsResourceObject.class);
+        var includedArtists = ModelHelper.collectIncludeInners(includedInnerWrapper, albumData.getRelationships().getArtists().getData(), ArtistsResourceObject.class);
+        var artists = new ArrayList<TidalArtist>(includedArtists.size());
+        for (var artist : includedArtists) {
+            artists.add(createArtistEntity(artist));
+        }
+
+        return Optional.of(new TidalAlbum(albumData.getId(), albumData.getAttributes().getTitle(), artists));
+    }
+
+    private TidalAlbum createAlbumEntityWithIncludedArtists(AlbumsResourceObject albumData, IncludedInnerWrapper includedInnerWrapper) {
+        var artistIdentifiers = albumData.getRelationships().getArtists().getData();
+        var artists = new ArrayList<TidalArtist>(artistIdentifiers == null ? 0 : artistIdentifiers.size());
 
-        return Optional.of(new TidalAlbum(albumData.getId(), albumData.getAttributes().getTitle(), artists.stream().map(this::createArtistEntity).toList()));
+        if (artistIdentifiers != null) {
+            for (var artistIdentifier : artistIdentifiers) {
+                var artist = includedInnerWrapper.find(artistIdentifier.getId(), ArtistsResourceObject.class);
+                artists.add(artist != null ? createArtistEntity(artist) : createArtistEntityStub(artistIdentifier));
+            }
+        }
+
+        return new TidalAlbum(albumData.getId(), albumData.getAttributes().getTitle(), artists);
     }
 
-    private List<Track> createAlbumTrackList(TidalAlbum album, @Nullable AlbumsItemsMultiRelationshipDataDocument albumItems) {
+    // Package-private for the mapping benchmarks
+    List<Track> createAlbumTrackList(TidalAlbum album, @Nullable AlbumsItemsMultiRelationshipDataDocument albumItems) {
         if (albumItems == null) {
             return Collections.emptyList();
         }
 
         var albumItemsData = albumItems.getData();
-
         var includedInnerWrapper = new IncludedInnerWrapper(albumItems.getIncluded());
+        var trackList = new ArrayList<Track>(albumItemsData.size());
+
+        for (var item : albumItemsData) {
+            var trackResource = includedInnerWrapper.find(item.getId(), TracksResourceObject.class);
+            if (trackResource == null) {
+                continue;
+            }
+
+            // The artists relationship may only have links, without data
+            var relationships = trackResource.getRelationships();
+            var artistIdentifiers = relationships == null || relationships.getArtists() == null ? null : relationships.getArtists().getData();
+            if (artistIdentifiers == null) {
+                LOGGER.warn("Artists of included track not in relationship data: ID {}", trackResource.getId());
+                artistIdentifiers = Collections.emptyList();
+            }
+
+            var attributes = trackResource.getAttributes();
+            trackList.add(new TidalTrack(trackResource.getId(),
+                    attributes.getTitle(),
+                    createArtistEntityStubs(artistIdentifiers),
+                    album,
+                    DurationConverter.parseDurationToSeconds(attributes.getDuration())));
+        }
 
-        return albumItemsData.stream().map(item -> includedInnerWrapper.getInner(item.getId(), AlbumsResourceObject.class))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(albumResource -> {
-                    var artistData = albumResource.getRelationships().getArtists().getData();
-                    return (Track) new TidalTrack(albumResource.getId(),
-                            albumResource.getAttributes().getTitle(),
-                            artistData.stream().map(this::createArtistEntityStub).toList(),
-                            album,
-                            DurationConverter.parseDurationToSeconds(albumResource.getAttributes().getDuration()));
-        }).toList();
+        return trackList;
     }
 
-    private List<Track> createPlaylistTrackList(PlaylistsItemsMultiRelationshipDataDocument playlistItems) {
+    // Package-private for the mapping benchmarks
+    List<Track> createPlaylistTrackList(PlaylistsItemsMultiRelationshipDataDocument playlistItems) {
         var playlistItemsData = playlistItems.getData();
-
         var includedInnerWrapper = new IncludedInnerWrapper(playlistItems.getIncluded());
+        var trackList = new ArrayList<Track>(playlistItemsData.size());
+
+        // Items that aren't included tracks, such as videos, are skipped
+        for (var item : playlistItemsData) {
+            if (includedInnerWrapper.find(item.getId(), TracksResourceObject.class) != null) {
+                trackList.add(new TidalTrackStub(item.getId()));
+            }
+        }
 
-        return playlistItemsData.stream()
-                .map(item -> includedInnerWrapper.getInner(item.getId(), TracksResourceObject.class))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(item -> {
-                    return (Track) new TidalTrackStub(item.getId());
-                }).toList();
+        return trackList;
     }
 
-    private List<Track> createTrackList(List<TracksResourceObject> tracks, List<IncludedInner> included) {
+    // Package-private for the mapping benchmarks
+    List<Track> createTrackList(List<TracksResourceObject> tracks, List<IncludedInner> included) {
         var includedInnerWrapper = new IncludedInnerWrapper(included);
+        var trackList = new ArrayList<Track>(tracks.size());
 
-        return tracks.stream()
-                .map(item -> {
-                    var artistData = item.getRelationships().getArtists().getData().stream()
-                            .map(resource -> {
-                                var innerOptional = includedInnerWrapper.getInner(resource.getId(), ArtistsResourceObject.class);
-                                if (innerOptional.isEmpty()) {
-                                    LOGGER.warn("Artist resource not included in IncludedInner list: ID {}", resource.getId());
-                                }
+        for (var track : tracks) {
+            var relationships = track.getRelationships();
 
-                                return innerOptional;
-                            })
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .toList();
+            var artistIdentifiers = relationships.getArtists().getData();
+            var artists = new ArrayList<TidalArtist>(artistIdentifiers.size());
+            for (var artistIdentifier : artistIdentifiers) {
+                if (includedInnerWrapper.find(artistIdentifier.getId(), ArtistsResourceObject.class) == null) {
+                    LOGGER.warn("Artist resource not included in IncludedInner list: ID {}", artistIdentifier.getId());
+                    continue;
+                }
 
-                    var albumData = item.getRelationships().getAlbums().getData().stream()
-                            .map(resource -> {
-                                var innerOptional = includedInnerWrapper.getInner(resource.getId(), AlbumsResourceObject.class);
-                                if (innerOptional.isEmpty()) {
-                                    LOGGER.warn("Album resource not included in IncludedInner list: ID {}", resource.getId());
-                                }
+                artists.add(new TidalArtistStub(artistIdentifier.getId()));
+            }
 
-                                return innerOptional;
-                            })
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .toList();
+            // Only the first included album is used
+            AlbumsResourceObject album = null;
+            for (var albumIdentifier : relationships.getAlbums().getData()) {
+                album = includedInnerWrapper.find(albumIdentifier.getId(), AlbumsResourceObject.class);
+                if (album != null) {
+                    break;
+                }
+
+                LOGGER.warn("Album resource not included in IncludedInner list: ID {}", albumIdentifier.getId());
+            }
 
-                    LOGGER.debug("track title = {}", item.getAttributes().getTitle());
-                    return (Track) new TidalTrack(
-                            item.getId(),
-                            item.getAttributes().getTitle(),
-                            artistData.stream().map(this::createArtistEntityStub).toList(),
-                            new TidalAlbumStub(albumData.getFirst().getId()),
-                            DurationConverter.parseDurationToSeconds(item.getAttributes().getDuration())
-                    );
-                }).toList();
+            if (album == null) {
+                throw new NoSuchElementException("No album of track " + track.getId() + " was included");
+            }
+
+            var attributes = track.getAttributes();
+            trackList.add(new TidalTrack(
+                    track.getId(),
+                    attributes.getTitle(),
+                    artists,
+                    new TidalAlbumStub(album.getId()),
+                    DurationConverter.parseDurationToSeconds(attributes.getDuration())
+            ));
+        }
+
+        return trackList;
+    }
+
+    /**
+     * Fetches every page of a paged endpoint by following the cursor in each page's {@code links.next}, and collects
+     * the results of all pages. See {@link #forEachPageAsync(String, PageFetcher, Function, Consumer)}.
+     *
+     * @param description What is being fetched, for logging
+     * @param pageFetcher Requests a single page, given the cursor of the page or null for the first page
+     * @param nextLinkGetter Gets the {@code links.next} value of a page
+     * @param pageMapper Maps a page to its results
+     * @param <D> The type of the page documents
+     * @param <R> The type of the results
+     * @return A future completing with the results of all pages, in order. If the first page could not be fetched, an
+     *         empty list
+     */
+    private <D, R> CompletableFuture<List<R>> fetchAllPagesAsync(String description, PageFetcher<D> pageFetcher, Function<D, String> nextLinkGetter, Function<D, List<R>> pageMapper) {
+        var results = new ArrayList<R>();
+        return forEachPageAsync(description, pageFetcher, nextLinkGetter, page -> results.addAll(pageMapper.apply(page)))
+                .thenApply(ignored -> results);
+    }
+
+    /**
+     * Fetches every page of a paged endpoint by following the cursor in each page's {@code links.next}, handing each
+     * page to the consumer in order on the calling thread. The next page is requested before the current page is
+     * consumed, so consuming a page overlaps with the next request.
+     *
+     * @param description What is being fetched, for logging
+     * @param pageFetcher Requests a single page, given the cursor of the page or null for the first page
+     * @param nextLinkGetter Gets the {@code links.next} value of a page
+     * @param pageConsumer Consumes each page
+     * @param <D> The type of the page documents
+     * @return If the pages could be fetched, false if the first page could not be fetched
+     * @throws RuntimeException if any page after the first could not be fetched
+     */
+    private <D> boolean forEachPage(String description, PageFetcher<D> pageFetcher, Function<D, String> nextLinkGetter, Consumer<D> pageConsumer) {
+        var response = await(pageFetcher.fetch(null));
+        var pageNumber = 1;
+
+        while (true) {
+            var page = checkPage(description, response, pageNumber);
+            if (page == null) {
+                return false;
+            }
+
+            var nextPage = consumePage(page, pageFetcher, nextLinkGetter, pageConsumer);
+            if (nextPage == null) {
+                break;
+            }
+
+            response = await(nextPage);
+            pageNumber++;
+        }
+
+        LOGGER.debug("Fetched {} pages of {}", pageNumber, description);
+
+        return true;
+    }
+
+    /**
+     * Fetches every page of a paged endpoint without blocking. Each page is handed to the consumer on the API
+     * executor once it's fetched, so the stack doesn't grow with the amount of pages. See
+     * {@link #forEachPage(String, PageFetcher, Function, Consumer)}.
+     *
+     * @param description What is being fetched, for logging
+     * @param pageFetcher Requests a single page, given the cursor of the page or null for the first page
+     * @param nextLinkGetter Gets the {@code links.next} value of a page
+     * @param pageConsumer Consumes each page
+     * @param <D> The type of the page documents
+     * @return A future completing with if the pages could be fetched, false if the first page could not be fetched.
+     *         It completes exceptionally if any page after the first could not be fetched
+     */
+    private <D> CompletableFuture<Boolean> forEachPageAsync(String description, PageFetcher<D> pageFetcher, Function<D, String> nextLinkGetter, Consumer<D> pageConsumer) {
+        return pageFetcher.fetch(null)
+                .thenComposeAsync(response -> forEachPageAsync(description, pageFetcher, nextLinkGetter, pageConsumer, response, 1), apiExecutor);
+    }
+
+    private <D> CompletableFuture<Boolean> forEachPageAsync(String description, PageFetcher<D> pageFetcher, Function<D, String> nextLinkGetter, Consumer<D> pageConsumer, Response<D> response, int pageNumber) {
+        var page = checkPage(description, response, pageNumber);
+        if (page == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        var nextPage = consumePage(page, pageFetcher, nextLinkGetter, pageConsumer);
+        if (nextPage == null) {
+            LOGGER.debug("Fetched {} pages of {}", pageNumber, description);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return nextPage.thenComposeAsync(nextResponse -> forEachPageAsync(description, pageFetcher, nextLinkGetter, pageConsumer, nextResponse, pageNumber + 1), apiExecutor);
+    }
+
+    /**
+     * Gets the body of a fetched page.
+     *
+     * @param description What is being fetched, for logging
+     * @param response The response of the page
+     * @param pageNumber The number of the page, starting at 1
+     * @param <D> The type of the page document
+     * @return The page, or null if the first page could not be fetched
+     * @throws RuntimeException if any page after the first could not be fetched, as the results would be incomplete
+     */
+    @Nullable
+    private <D> D checkPage(String description, Response<D> response, int pageNumber) {
+        if (!response.isSuccessful() || response.body() == null) {
+            if (pageNumber == 1) {
+                LOGGER.error("Failed to fetch {}: {}", description, getFormatedErrorResponse(response));
+                return null;
+            }
+
+            throw new RuntimeException("Failed to fetch page %d of %s%s".formatted(pageNumber, description, getFormatedErrorResponse(response)));
+        }
+
+        return response.body();
+    }
+
+    /**
+     * Requests the page after the given one, and then consumes the given page, so consuming it overlaps with the
+     * next request.
+     *
+     * @return The request of the next page, or null if this is the last page
+     */
+    @Nullable
+    private <D> CompletableFuture<Response<D>> consumePage(D page, PageFetcher<D> pageFetcher, Function<D, String> nextLinkGetter, Consumer<D> pageConsumer) {
+        var nextPage = PageCursors.nextCursor(nextLinkGetter.apply(page))
+                .map(pageFetcher::fetch)
+                .orElse(null);
+
+        try {
+            pageConsumer.accept(page);
+        } catch (RuntimeException e) {
+            if (nextPage != null) {
+                nextPage.cancel(true);
+            }
+
+            throw e;
+        }
+
+        return nextPage;
+    }
+
+    /**
+     * Requests a single page of a paged endpoint.
+     *
+     * @param <D> The type of the page document
+     */
+    @FunctionalInterface
+    private interface PageFetcher<D> {
+        CompletableFuture<Response<D>> fetch(@Nullable String pageCursor);
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most the given size.
+     *
+     * @param list The list to split
+     * @param size The maximum size of each sublist
+     * @return The sublists, in order
+     */
+    private static <T> List<List<T>> partition(List<T> list, int size) {
+        var partitions = new ArrayList<List<T>>((list.size() + size - 1) / size);
+        for (int i = 0; i < list.size(); i += size) {
+            partitions.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+
+        return partitions;
     }
 
     private TidalArtist createArtistEntity(ArtistsResourceObject artist) {
@@ -605,6 +1442,15 @@ public class TidalMusicFetcher implements MusicFetcher {
         return new TidalArtistStub(artistIdentifier.getId());
     }
 
+    private List<TidalArtist> createArtistEntityStubs(List<ResourceIdentifier> artistIdentifiers) {
+        var artists = new ArrayList<TidalArtist>(artistIdentifiers.size());
+        for (var artistIdentifier : artistIdentifiers) {
+            artists.add(new TidalArtistStub(artistIdentifier.getId()));
+        }
+
+        return artists;
+    }
+
     private TidalArtist createArtistEntityStub(ArtistsResourceObject artist) {
         return new TidalArtistStub(artist.getId());
     }
@@ -4,7 +4,12 @@ import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class AsyncHelper {
 
@@ -27,4 +32,70 @@ public class AsyncHelper {
         return completableFuture;
     }
 
+    /**
+     * Maps each input to an asynchronous result, with at most the given amount of results pending at a time. No
+     * threads are blocked while waiting for a free slot, the next input is started as soon as a pending one completes.
+     * <p>
+     * Inputs whose result is already complete, such as cache hits, are handled in a loop rather than from the
+     * completion callback, so the stack doesn't grow with the amount of inputs.
+     *
+     * @param inputs The inputs to map
+     * @param parallelism The most results pending at a time
+     * @param mapper Starts the asynchronous mapping of an input
+     * @param <I> The type of the inputs
+     * @param <R> The type of the results
+     * @return A future completing with the results, in the order of the inputs
+     */
+    public static <I, R> CompletableFuture<List<R>> mapBounded(List<I> inputs, int parallelism, Function<I, CompletableFuture<R>> mapper) {
+        var results = new ArrayList<CompletableFuture<R>>(inputs.size());
+        inputs.forEach(input -> results.add(new CompletableFuture<>()));
+
+        var nextIndex = new AtomicInteger();
+
+        // Each worker starts the next input once its current one completes, until none are left
+        var worker = new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    var index = nextIndex.getAndIncrement();
+                    if (index >= inputs.size()) {
+                        return;
+                    }
+
+                    CompletableFuture<R> mapped;
+                    try {
+                        mapped = mapper.apply(inputs.get(index));
+                    } catch (RuntimeException e) {
+                        mapped = CompletableFuture.failedFuture(e);
+                    }
+
+                    // Whichever of this loop and the callback gets here second continues the worker
+                    var handedOff = new AtomicBoolean();
+
+                    mapped.whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            results.get(index).completeExceptionally(throwable);
+                        } else {
+                            results.get(index).complete(result);
+                        }
+
+                        if (handedOff.getAndSet(true)) {
+                            run();
+                        }
+                    });
+
+                    if (!handedOff.getAndSet(true)) {
+                        return;
+                    }
+                }
+            }
+        };
+
+        for (int i = 0; i < Math.min(Math.max(1, parallelism), inputs.size()); i++) {
+            worker.run();
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
 }
@@ -0,0 +1,73 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An {@link Executor} that starts every task right away on a thread of the given {@link ExecutionMode}, but lets at
+ * most a fixed amount of tasks run at the same time. Tasks over the limit wait on their own thread for a free slot,
+ * which with virtual threads doesn't hold a platform thread.
+ */
+public class BoundedExecutor implements Executor, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    /**
+     * Creates a {@link BoundedExecutor}.
+     *
+     * @param executionMode The kind of threads to run tasks on
+     * @param namePrefix The prefix of the thread names
+     * @param maxConcurrency The most tasks allowed to run at the same time
+     */
+    public BoundedExecutor(ExecutionMode executionMode, String namePrefix, int maxConcurrency) {
+        this.delegate = executionMode.createExecutor(namePrefix);
+        this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            var acquired = false;
+            try {
+                permits.acquire();
+                acquired = true;
+            } catch (InterruptedException e) {
+                // Still run the task so anything waiting on it completes, it sees the interrupt and can stop early
+                LOGGER.debug("Interrupted while waiting for a free slot");
+                Thread.currentThread().interrupt();
+            }
+
+            try {
+                task.run();
+            } finally {
+                if (acquired) {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the amount of tasks that could start running right now.
+     *
+     * @return The amount of free slots
+     */
+    public int availableSlots() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Stops running tasks and interrupts the ones that are running or waiting for a slot.
+     */
+    @Override
+    public void close() {
+        delegate.shutdownNow();
+    }
+}
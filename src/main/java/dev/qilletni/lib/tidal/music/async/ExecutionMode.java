@@ -0,0 +1,50 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The kind of threads background and fetch work runs on.
+ */
+public enum ExecutionMode {
+    /**
+     * Runs work on a pool of reused platform threads.
+     */
+    PLATFORM,
+
+    /**
+     * Runs each task on its own virtual thread. Blocking I/O in a task doesn't hold a platform thread, so many
+     * lookups can be in flight without sizing a thread pool.
+     */
+    VIRTUAL;
+
+    /**
+     * Creates a thread factory for this mode. Platform threads are daemon threads, so they don't keep the runtime
+     * alive.
+     *
+     * @param namePrefix The prefix of the thread names, followed by a counter
+     * @return The created thread factory
+     */
+    public ThreadFactory createThreadFactory(String namePrefix) {
+        return switch (this) {
+            case PLATFORM -> Thread.ofPlatform().name(namePrefix, 0).daemon().factory();
+            case VIRTUAL -> Thread.ofVirtual().name(namePrefix, 0).factory();
+        };
+    }
+
+    /**
+     * Creates an unbounded executor for this mode, either a cached thread pool or one new virtual thread per task.
+     *
+     * @param namePrefix The prefix of the thread names, followed by a counter
+     * @return The created executor
+     */
+    public ExecutorService createExecutor(String namePrefix) {
+        var threadFactory = createThreadFactory(namePrefix);
+
+        return switch (this) {
+            case PLATFORM -> Executors.newCachedThreadPool(threadFactory);
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(threadFactory);
+        };
+    }
+}
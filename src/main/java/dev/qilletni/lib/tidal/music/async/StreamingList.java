@@ -0,0 +1,210 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A read-only list that is filled in the background while it is being read. Elements are appended in batches by a
+ * producer, and readers only wait for as much of the list as they need.
+ * <p>
+ * {@link #get(int)}, {@link #isEmpty()}, and iteration block until the requested element has been appended, so a
+ * reader can start on the first elements while the rest are still being produced. Anything that needs the whole list,
+ * such as {@link #size()}, blocks until the producer has completed the list. If the producer fails, readers waiting on
+ * elements that were never appended get a {@link RuntimeException} with the failure as its cause.
+ *
+ * @param <E> The type of elements in the list
+ */
+public class StreamingList<E> extends AbstractList<E> {
+
+    private final List<E> elements = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition elementsChanged = lock.newCondition();
+
+    private boolean complete;
+    private Throwable failure;
+
+    /**
+     * Appends elements to the end of the list, waking up any readers waiting on them. Only the producer should call
+     * this.
+     *
+     * @param newElements The elements to append
+     */
+    public void append(List<? extends E> newElements) {
+        lock.lock();
+        try {
+            if (complete || failure != null) {
+                throw new IllegalStateException("Cannot append to a finished list");
+            }
+
+            elements.addAll(newElements);
+            elementsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the list as complete, meaning no more elements will be appended.
+     */
+    public void complete() {
+        lock.lock();
+        try {
+            complete = true;
+            elementsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the list as failed, meaning no more elements will be appended. Elements that were already appended can
+     * still be read.
+     *
+     * @param throwable The reason the list could not be completed
+     */
+    public void fail(Throwable throwable) {
+        lock.lock();
+        try {
+            failure = throwable;
+            elementsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if all elements have been appended, without blocking.
+     *
+     * @return If the list is complete
+     */
+    public boolean isComplete() {
+        lock.lock();
+        try {
+            return complete;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of elements appended so far, without blocking.
+     *
+     * @return The amount of elements currently available
+     */
+    public int availableSize() {
+        lock.lock();
+        try {
+            return elements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        lock.lock();
+        try {
+            if (!awaitElement(index)) {
+                throw new IndexOutOfBoundsException("Index %d out of bounds for length %d".formatted(index, elements.size()));
+            }
+
+            return elements.get(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            awaitElement(Integer.MAX_VALUE);
+            return elements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // Only the first element is needed, unlike the inherited isEmpty which waits for the size of the whole list
+        lock.lock();
+        try {
+            return !awaitElement(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int nextIndex;
+
+            @Override
+            public boolean hasNext() {
+                lock.lock();
+                try {
+                    return awaitElement(nextIndex);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(nextIndex++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        // The size isn't known until the list is complete, and reporting it would block
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Waits until the element at the given index has been appended, or the list has finished without it. Must be
+     * called while holding the lock.
+     *
+     * @param index The index of the element to wait for
+     * @return If the element exists
+     * @throws RuntimeException if the list failed before the element was appended, or the thread was interrupted
+     */
+    private boolean awaitElement(int index) {
+        try {
+            while (index >= elements.size() && !complete && failure == null) {
+                elementsChanged.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        if (index < elements.size()) {
+            return true;
+        }
+
+        if (failure != null) {
+            throw new RuntimeException("Failed to load list", failure);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,197 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size-bounded, concurrent in-memory cache of entities keyed by their ID.
+ * <p>
+ * Reads and writes go straight to a {@link ConcurrentHashMap}. Once the cache grows past its maximum size, a single
+ * thread trims it back down to slightly under the maximum in one pass, dropping expired entries first and then the
+ * least valuable entries according to the {@link EvictionPolicy}. Trimming in batches keeps the cost of eviction
+ * amortized across many inserts.
+ *
+ * @param <V> The type of entity being cached
+ */
+public class EntityCache<V> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+
+    private final String name;
+    private final int maximumSize;
+    private final int evictionTarget;
+    private final long ttlNanos;
+    private final EvictionPolicy evictionPolicy;
+    private final ConcurrentHashMap<String, CacheEntry<V>> entries;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Creates a new {@link EntityCache}.
+     *
+     * @param name The name of the cache, used for logging
+     * @param maximumSize The maximum amount of entries to hold. If {@code 0}, nothing is cached
+     * @param ttl How long entries live after being inserted. If zero, entries never expire
+     * @param evictionPolicy The policy to pick entries to evict with
+     */
+    public EntityCache(String name, int maximumSize, Duration ttl, EvictionPolicy evictionPolicy) {
+        this.name = name;
+        this.maximumSize = Math.max(0, maximumSize);
+        this.evictionTarget = this.maximumSize - Math.max(1, this.maximumSize / 20);
+        this.ttlNanos = ttl.toNanos();
+        this.evictionPolicy = evictionPolicy;
+        this.entries = new ConcurrentHashMap<>(Math.min(this.maximumSize, 1024));
+    }
+
+    /**
+     * Gets a non-expired entity from the cache.
+     *
+     * @param id The ID of the entity
+     * @return The cached entity, if present and not expired
+     */
+    public Optional<V> get(String id) {
+        var entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        var now = System.nanoTime();
+        if (entry.isExpired(now, ttlNanos)) {
+            entries.remove(id, entry);
+            return Optional.empty();
+        }
+
+        entry.recordAccess(now);
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * Adds or replaces an entity in the cache.
+     *
+     * @param id The ID of the entity
+     * @param value The entity to cache
+     */
+    public void put(String id, V value) {
+        if (maximumSize == 0) {
+            return;
+        }
+
+        entries.put(id, new CacheEntry<>(value, System.nanoTime()));
+
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes an entity from the cache, if present.
+     *
+     * @param id The ID of the entity to remove
+     */
+    public void invalidate(String id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Removes all entities from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the amount of entries currently in the cache, including any expired ones that haven't been cleaned up.
+     *
+     * @return The amount of entries in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Trims the cache down to the eviction target. If another thread is already evicting, this returns immediately.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            var now = System.nanoTime();
+            if (ttlNanos > 0) {
+                entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+            }
+
+            var excess = entries.size() - evictionTarget;
+            if (excess <= 0) {
+                return;
+            }
+
+            // Snapshot the ranks first, as they may change while sorting
+            var candidates = entries.entrySet().stream()
+                    .map(entry -> new EvictionCandidate(entry.getKey(), entry.getValue(), entry.getValue().rank(evictionPolicy)))
+                    .toArray(EvictionCandidate[]::new);
+
+            Arrays.sort(candidates, Comparator.comparingLong(EvictionCandidate::rank));
+
+            var evicted = 0;
+            for (int i = 0; i < candidates.length && evicted < excess; i++) {
+                if (entries.remove(candidates[i].id(), candidates[i].entry())) {
+                    evicted++;
+                }
+            }
+
+            LOGGER.debug("Evicted {} entries from the {} cache", evicted, name);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * A single cached value along with the bookkeeping needed for expiry and eviction.
+     */
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long insertedAt;
+        private final AtomicLong hits = new AtomicLong();
+        private volatile long lastAccess;
+
+        private CacheEntry(V value, long insertedAt) {
+            this.value = value;
+            this.insertedAt = insertedAt;
+            this.lastAccess = insertedAt;
+        }
+
+        private V value() {
+            return value;
+        }
+
+        private void recordAccess(long now) {
+            lastAccess = now;
+            hits.incrementAndGet();
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return ttlNanos > 0 && now - insertedAt > ttlNanos;
+        }
+
+        /**
+         * Gets the rank of this entry for eviction, where lower ranks are evicted first.
+         */
+        private long rank(EvictionPolicy evictionPolicy) {
+            return switch (evictionPolicy) {
+                case LRU -> lastAccess;
+                case LFU -> hits.get();
+            };
+        }
+    }
+
+    private record EvictionCandidate(String id, CacheEntry<?> entry, long rank) {}
+}
@@ -0,0 +1,16 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+/**
+ * The strategy an {@link EntityCache} uses to decide which entries to drop once it is over capacity.
+ */
+public enum EvictionPolicy {
+    /**
+     * Evicts the entries that have gone the longest without being read.
+     */
+    LRU,
+
+    /**
+     * Evicts the entries that have been read the fewest times.
+     */
+    LFU
+}
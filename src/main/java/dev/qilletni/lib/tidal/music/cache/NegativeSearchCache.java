@@ -0,0 +1,230 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.lib.tidal.database.EntityTransaction;
+import dev.qilletni.lib.tidal.music.entities.TidalSearchMiss;
+import dev.qilletni.lib.tidal.music.entities.TidalSearchMiss.SearchType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers name searches that found nothing, so they aren't repeated against the API until the miss expires.
+ * <p>
+ * Misses are persisted as {@link TidalSearchMiss} entities and kept in memory once seen, as are searches found to
+ * have no stored miss, so each search is looked up in the database at most once while held in memory. Queries are
+ * normalized (Unicode compatibility form, case, and whitespace) before being used as keys, so trivially different
+ * spellings of the same search share an entry.
+ */
+public class NegativeSearchCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NegativeSearchCache.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Separates the parts of a query (e.g. track name and artist) in keys, as it can't appear in normal names.
+     */
+    private static final String PART_SEPARATOR = "\u001F";
+
+    /**
+     * Held in memory in place of a miss time for searches with no stored miss, so they aren't looked up in the
+     * database again. Recording a miss replaces it.
+     */
+    private static final Instant NO_MISS = Instant.MIN;
+
+    private final Duration ttl;
+    private final EntityCache<Instant> missCache;
+    private final int lookupChunkSize;
+
+    /**
+     * Creates a new {@link NegativeSearchCache}.
+     *
+     * @param ttl How long a miss is remembered for. If zero, misses are neither recorded nor checked
+     * @param maximumSize The maximum amount of misses to hold in memory
+     * @param evictionPolicy The policy to pick in-memory misses to evict with
+     * @param lookupChunkSize The most searches to look up in a single database query
+     */
+    public NegativeSearchCache(Duration ttl, int maximumSize, EvictionPolicy evictionPolicy, int lookupChunkSize) {
+        this.ttl = ttl;
+        this.missCache = new EntityCache<>("searchMiss", maximumSize, ttl, evictionPolicy);
+        this.lookupChunkSize = Math.max(1, lookupChunkSize);
+    }
+
+    /**
+     * Checks if a search is known to have no results.
+     *
+     * @param searchType The type of entity searched for
+     * @param queryParts The parts of the search query, such as a name and an artist
+     * @return If the search found nothing within the TTL
+     */
+    public boolean isKnownMiss(SearchType searchType, String... queryParts) {
+        if (ttl.isZero()) {
+            return false;
+        }
+
+        var key = createKey(searchType, queryParts);
+
+        var memoryCached = missCache.get(key);
+        if (memoryCached.isPresent()) {
+            return !isExpired(memoryCached.get());
+        }
+
+        try (var entityTransaction = EntityTransaction.beginTransaction("isKnownMiss")) {
+            var searchMiss = entityTransaction.getSession().find(TidalSearchMiss.class, key);
+            if (searchMiss == null || isExpired(searchMiss.getMissedAt())) {
+                missCache.put(key, NO_MISS);
+                return false;
+            }
+
+            missCache.put(key, searchMiss.getMissedAt());
+        }
+
+        LOGGER.debug("Skipping {} search with no results: {}", searchType, Arrays.toString(queryParts));
+        return true;
+    }
+
+    /**
+     * Finds which of many searches are known to have no results. Searches not held in memory are looked up in chunked
+     * queries, rather than one at a time.
+     *
+     * @param searchType The type of entity searched for
+     * @param keys The keys of the searches, created with {@link #createKey(SearchType, String...)}
+     * @return The keys of the searches that found nothing within the TTL
+     */
+    public Set<String> findKnownMisses(SearchType searchType, Collection<String> keys) {
+        if (ttl.isZero() || keys.isEmpty()) {
+            return Set.of();
+        }
+
+        var knownMisses = new HashSet<String>();
+        var uncachedKeys = new ArrayList<String>();
+
+        for (var key : new LinkedHashSet<>(keys)) {
+            var memoryCached = missCache.get(key);
+            if (memoryCached.isEmpty()) {
+                uncachedKeys.add(key);
+            } else if (!isExpired(memoryCached.get())) {
+                knownMisses.add(key);
+            }
+        }
+
+        if (!uncachedKeys.isEmpty()) {
+            var storedMisses = new HashMap<String, Instant>();
+
+            try (var entityTransaction = EntityTransaction.beginTransaction("findKnownMisses")) {
+                var session = entityTransaction.getSession();
+
+                for (int i = 0; i < uncachedKeys.size(); i += lookupChunkSize) {
+                    var searchMisses = session.createQuery("select m from TidalSearchMiss m where m.id in (:ids)", TidalSearchMiss.class)
+                            .setParameterList("ids", uncachedKeys.subList(i, Math.min(i + lookupChunkSize, uncachedKeys.size())))
+                            .getResultList();
+
+                    for (var searchMiss : searchMisses) {
+                        storedMisses.put(searchMiss.getId(), searchMiss.getMissedAt());
+                    }
+                }
+            }
+
+            for (var key : uncachedKeys) {
+                var missedAt = storedMisses.get(key);
+                if (missedAt == null || isExpired(missedAt)) {
+                    missCache.put(key, NO_MISS);
+                } else {
+                    missCache.put(key, missedAt);
+                    knownMisses.add(key);
+                }
+            }
+        }
+
+        if (!knownMisses.isEmpty()) {
+            LOGGER.debug("Skipping {} {} searches with no results", knownMisses.size(), searchType);
+        }
+
+        return knownMisses;
+    }
+
+    /**
+     * Records that a search definitively returned no results. This should not be called when a search failed for any
+     * other reason, such as a failed request.
+     *
+     * @param searchType The type of entity searched for
+     * @param queryParts The parts of the search query, such as a name and an artist
+     */
+    public void recordMiss(SearchType searchType, String... queryParts) {
+        if (ttl.isZero()) {
+            return;
+        }
+
+        LOGGER.debug("Recording {} search with no results: {}", searchType, Arrays.toString(queryParts));
+
+        recordMisses(searchType, List.of(createKey(searchType, queryParts)));
+    }
+
+    /**
+     * Records that many searches definitively returned no results, in a single transaction. See
+     * {@link #recordMiss(SearchType, String...)}. Remembering misses is only an optimization, so if they can't be
+     * stored, the failure is logged rather than thrown and the misses aren't held in memory either.
+     *
+     * @param searchType The type of entity searched for
+     * @param keys The keys of the searches, created with {@link #createKey(SearchType, String...)}
+     */
+    public void recordMisses(SearchType searchType, Collection<String> keys) {
+        if (ttl.isZero() || keys.isEmpty()) {
+            return;
+        }
+
+        var missedAt = Instant.now();
+
+        try (var entityTransaction = EntityTransaction.beginTransaction("recordMisses")) {
+            var session = entityTransaction.getSession();
+
+            // Merging replaces any expired miss for the same search
+            for (var key : keys) {
+                session.merge(new TidalSearchMiss(key, searchType, key.substring(searchType.name().length() + 1), missedAt));
+            }
+        } catch (RuntimeException e) {
+            // Such as another transaction recording the same miss first
+            LOGGER.warn("Failed to record {} {} searches with no results", keys.size(), searchType, e);
+            return;
+        }
+
+        keys.forEach(key -> missCache.put(key, missedAt));
+    }
+
+    private boolean isExpired(Instant missedAt) {
+        return missedAt.equals(NO_MISS) || missedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    /**
+     * Creates the key of a search, made of the search type and the normalized query parts. Searches that only differ
+     * in case, whitespace, or Unicode representation have the same key.
+     *
+     * @param searchType The type of entity searched for
+     * @param queryParts The parts of the search query
+     * @return The key of the search
+     */
+    public static String createKey(SearchType searchType, String... queryParts) {
+        return Arrays.stream(queryParts)
+                .map(NegativeSearchCache::normalize)
+                .collect(Collectors.joining(PART_SEPARATOR, searchType.name() + ":", ""));
+    }
+
+    private static String normalize(String queryPart) {
+        var normalized = Normalizer.normalize(queryPart, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+}
@@ -0,0 +1,79 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key, so only one caller runs the load while any others calling at the same
+ * time wait for and share its result.
+ * <p>
+ * Results are not kept once the load finishes, so a call made after that runs a new load. Keys must be unique across
+ * everything loaded through the same instance, as callers of the same key receive the same result object.
+ */
+public class SingleFlight {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader for the given key, or waits for the result of the loader already running for it.
+     *
+     * @param key The key identifying what is loaded
+     * @param loader The loader to run if no other load of the key is running
+     * @param <V> The type of the loaded value
+     * @return The loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, Supplier<V> loader) {
+        var future = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            LOGGER.debug("Waiting for in-flight load of {}", key);
+            return (V) join(existing);
+        }
+
+        try {
+            var value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * The amount of loads currently running.
+     *
+     * @return The amount of in-flight keys
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow what the loader threw, so waiters fail the same way the caller running the loader does
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+}
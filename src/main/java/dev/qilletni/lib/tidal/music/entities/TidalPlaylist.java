@@ -3,6 +3,7 @@ package dev.qilletni.lib.tidal.music.entities;
 import dev.qilletni.api.auth.ServiceProvider;
 import dev.qilletni.api.music.Playlist;
 import dev.qilletni.api.music.User;
+import org.jetbrains.annotations.Nullable;
 
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
@@ -10,6 +11,7 @@ import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import java.sql.Date;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -21,19 +23,29 @@ public class TidalPlaylist implements Playlist {
     private String title;
     private int trackCount;
 
+    /**
+     * When the playlist was last modified on Tidal, if known.
+     */
+    private Instant lastModifiedAt;
+
     @ManyToOne(fetch = FetchType.EAGER)
     private TidalUser creator;
 
+    /**
+     * The index is refreshed in the background while other threads read it, so a new index is always published as a
+     * whole rather than changed in place.
+     */
     @Embedded
-    private TidalPlaylistIndex tidalPlaylistIndex;
+    private volatile TidalPlaylistIndex tidalPlaylistIndex;
 
     public TidalPlaylist() {}
 
-    public TidalPlaylist(String id, String title, TidalUser creator, int trackCount) {
+    public TidalPlaylist(String id, String title, TidalUser creator, int trackCount, @Nullable Instant lastModifiedAt) {
         this.id = id;
         this.title = title;
         this.creator = creator;
         this.trackCount = trackCount;
+        this.lastModifiedAt = lastModifiedAt;
         this.tidalPlaylistIndex = new TidalPlaylistIndex(Collections.emptyList(), new Date(0));
     }
 
@@ -62,6 +74,36 @@ public class TidalPlaylist implements Playlist {
         return Optional.empty();
     }
 
+    @Nullable
+    public Instant getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    /**
+     * Creates a copy of this playlist with the title, track count, and last modified time of a more recently fetched
+     * copy of it. The index is kept as is.
+     *
+     * @param latest The recently fetched playlist
+     * @return The updated copy of this playlist
+     */
+    public TidalPlaylist withMetadata(TidalPlaylist latest) {
+        var updated = new TidalPlaylist(id, latest.title, creator, latest.trackCount, latest.lastModifiedAt);
+        updated.tidalPlaylistIndex = tidalPlaylistIndex;
+        return updated;
+    }
+
+    /**
+     * Creates a copy of this playlist with a new index.
+     *
+     * @param tidalPlaylistIndex The index of the copy
+     * @return The copy of this playlist
+     */
+    public TidalPlaylist withIndex(TidalPlaylistIndex tidalPlaylistIndex) {
+        var updated = new TidalPlaylist(id, title, creator, trackCount, lastModifiedAt);
+        updated.tidalPlaylistIndex = tidalPlaylistIndex;
+        return updated;
+    }
+
     public TidalPlaylistIndex getTidalPlaylistIndex() {
         return tidalPlaylistIndex;
     }
@@ -1,13 +1,17 @@
 package dev.qilletni.lib.tidal.music.entities;
 
+import org.jetbrains.annotations.Nullable;
+
 import javax.persistence.Embeddable;
 import javax.persistence.ManyToMany;
 import java.sql.Date;
+import java.time.Instant;
 import java.util.List;
 
 /**
  * An embeddable entity that stores a cached index of tracks in a playlist.
- * This index is meant to be regularly updated and includes an expiration timestamp.
+ * This index is meant to be regularly updated and includes an expiration timestamp, along with the last modified time
+ * and item count of the playlist when it was indexed to tell if the playlist has changed since.
  */
 @Embeddable
 public class TidalPlaylistIndex {
@@ -17,11 +21,21 @@ public class TidalPlaylistIndex {
 
     private Date lastUpdatedIndex;
 
+    private Instant indexedLastModifiedAt;
+
+    private Integer indexedItemCount;
+
     public TidalPlaylistIndex() {}
 
     public TidalPlaylistIndex(List<TidalTrack> tracks, Date lastUpdatedIndex) {
+        this(tracks, lastUpdatedIndex, null, null);
+    }
+
+    public TidalPlaylistIndex(List<TidalTrack> tracks, Date lastUpdatedIndex, @Nullable Instant indexedLastModifiedAt, @Nullable Integer indexedItemCount) {
         this.tracks = tracks;
         this.lastUpdatedIndex = lastUpdatedIndex;
+        this.indexedLastModifiedAt = indexedLastModifiedAt;
+        this.indexedItemCount = indexedItemCount;
     }
 
     public List<TidalTrack> getTracks() {
@@ -32,11 +46,34 @@ public class TidalPlaylistIndex {
         return lastUpdatedIndex;
     }
 
+    /**
+     * The last modified time of the playlist at the time it was indexed.
+     *
+     * @return The last modified time of the indexed playlist, if known
+     */
+    @Nullable
+    public Instant getIndexedLastModifiedAt() {
+        return indexedLastModifiedAt;
+    }
+
+    /**
+     * The amount of items the playlist had at the time it was indexed, as reported by the API. This may be more than
+     * the amount of indexed tracks, as videos and items that couldn't be fetched aren't indexed.
+     *
+     * @return The item count of the indexed playlist, if known
+     */
+    @Nullable
+    public Integer getIndexedItemCount() {
+        return indexedItemCount;
+    }
+
     @Override
     public String toString() {
         return "TidalPlaylistIndex{" +
                 "tracks=" + tracks +
                 ", lastUpdatedIndex=" + lastUpdatedIndex +
+                ", indexedLastModifiedAt=" + indexedLastModifiedAt +
+                ", indexedItemCount=" + indexedItemCount +
                 '}';
     }
 }
@@ -0,0 +1,76 @@
+package dev.qilletni.lib.tidal.music.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import java.time.Instant;
+
+/**
+ * A name search that the API definitively returned no results for. These are remembered so the same failing search
+ * isn't sent again on every run.
+ */
+@Entity
+public class TidalSearchMiss {
+
+    /**
+     * The type of entity searched for, combined with the normalized query.
+     */
+    @Id
+    @Column(length = 1024)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private SearchType searchType;
+
+    @Column(length = 1024)
+    private String query;
+
+    private Instant missedAt;
+
+    public TidalSearchMiss() {}
+
+    public TidalSearchMiss(String id, SearchType searchType, String query, Instant missedAt) {
+        this.id = id;
+        this.searchType = searchType;
+        this.query = query;
+        this.missedAt = missedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SearchType getSearchType() {
+        return searchType;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Instant getMissedAt() {
+        return missedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TidalSearchMiss{" +
+                "id='" + id + '\'' +
+                ", searchType=" + searchType +
+                ", query='" + query + '\'' +
+                ", missedAt=" + missedAt +
+                '}';
+    }
+
+    /**
+     * The type of entity a name search was for.
+     */
+    public enum SearchType {
+        TRACK,
+        ALBUM,
+        ARTIST,
+        PLAYLIST
+    }
+}
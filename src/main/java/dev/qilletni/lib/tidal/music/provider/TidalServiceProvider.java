@@ -1,5 +1,7 @@
 package dev.qilletni.lib.tidal.music.provider;
 
+import com.tidal.sdk.tidalapi.generated.TidalApiClient;
+import com.tidal.sdk.tidalapi.generated.models.UsersResourceObject;
 import dev.qilletni.api.auth.ServiceProvider;
 import dev.qilletni.api.exceptions.config.ConfigInitializeException;
 import dev.qilletni.api.lib.persistence.PackageConfig;
@@ -14,18 +16,33 @@ import dev.qilletni.api.music.factories.SongTypeFactory;
 import dev.qilletni.api.music.orchestration.TrackOrchestrator;
 import dev.qilletni.api.music.play.DefaultRoutablePlayActor;
 import dev.qilletni.api.music.play.PlayActor;
+import dev.qilletni.lib.tidal.api.TidalApiServices;
 import dev.qilletni.lib.tidal.api.TidalApiSingleton;
+import dev.qilletni.lib.tidal.api.fake.FakeTidalApiServer;
+import dev.qilletni.lib.tidal.api.http.TrafficMode;
 import dev.qilletni.lib.tidal.api.oauth.TidalOAuthAuthorizer;
+import dev.qilletni.lib.tidal.api.ratelimit.AdaptiveRateLimiter;
+import dev.qilletni.lib.tidal.config.TidalConfig;
 import dev.qilletni.lib.tidal.database.HibernateUtil;
+import dev.qilletni.lib.tidal.monitoring.AdminServer;
+import dev.qilletni.lib.tidal.monitoring.HealthCheck;
+import dev.qilletni.lib.tidal.monitoring.TidalMetrics;
 import dev.qilletni.lib.tidal.music.TidalMusicCache;
 import dev.qilletni.lib.tidal.music.TidalMusicFetcher;
 import dev.qilletni.lib.tidal.music.TidalMusicTypeConverter;
+import dev.qilletni.lib.tidal.music.async.BoundedExecutor;
+import dev.qilletni.lib.tidal.music.cache.NegativeSearchCache;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 
 public class TidalServiceProvider implements ServiceProvider {
@@ -33,12 +50,19 @@ public class TidalServiceProvider implements ServiceProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(TidalServiceProvider.class);
 
     private PackageConfig packageConfig;
+    private TidalConfig tidalConfig;
     private TidalOAuthAuthorizer authorizer;
     private TidalMusicFetcher musicFetcher;
     private TidalMusicCache musicCache;
     private TrackOrchestrator trackOrchestrator;
     private TidalMusicTypeConverter musicTypeConverter;
     private PlayActor playActor;
+    private BoundedExecutor fetchExecutor;
+    private ExecutorService apiExecutor;
+    private TidalApiServices apiServices;
+    private FakeTidalApiServer fakeApiServer;
+    private final TidalMetrics metrics = new TidalMetrics();
+    private AdminServer adminServer;
 
     private static ServiceProvider serviceProviderInstance;
 
@@ -46,34 +70,143 @@ public class TidalServiceProvider implements ServiceProvider {
     public CompletableFuture<Void> initialize(BiFunction<PlayActor, MusicCache, TrackOrchestrator> defaultTrackOrchestratorFunction, PackageConfig packageConfig) {
         this.packageConfig = packageConfig;
         populateInitialConfig();
+        tidalConfig = new TidalConfig(packageConfig);
         initConfig();
 
+        if (tidalConfig.isFakeApiServerEnabled()) {
+            // The fake API doesn't check authorization
+            LOGGER.info("Using a fake Tidal API, skipping authorization");
+            fakeApiServer = FakeTidalApiServer.start(tidalConfig);
+            initializeServices(defaultTrackOrchestratorFunction, TidalOAuthAuthorizer.createOfflineApiClient(), null);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (tidalConfig.getTrafficMode() == TrafficMode.REPLAY) {
+            // Replayed requests never reach the API, so no authorization is needed
+            LOGGER.info("Replaying recorded API traffic, skipping authorization");
+            initializeServices(defaultTrackOrchestratorFunction, TidalOAuthAuthorizer.createOfflineApiClient(), null);
+            return CompletableFuture.completedFuture(null);
+        }
+
         // Or with explicit credentials
-        authorizer = new TidalOAuthAuthorizer(packageConfig, packageConfig.getOrThrow("clientId"), packageConfig.getOrThrow("redirectUri"));
+        authorizer = new TidalOAuthAuthorizer(packageConfig, packageConfig.getOrThrow("clientId"), packageConfig.getOrThrow("redirectUri"), tidalConfig.getExecutionMode());
 
         // Authorize (async)
-        return authorizer.authorizeTidal().thenAccept(tidalApi -> {
-            TidalApiSingleton.setTidalApi(tidalApi);
+        return authorizer.authorizeTidal().thenAccept(tidalApi ->
+                initializeServices(defaultTrackOrchestratorFunction, tidalApi, authorizer.getCurrentUser().orElseThrow()));
+    }
+
+    /**
+     * Creates the fetcher, cache, and everything they use.
+     *
+     * @param defaultTrackOrchestratorFunction Creates the default track orchestrator
+     * @param tidalApi The API client to fetch with
+     * @param currentUser The authorized user, or null if there is none, such as when replaying traffic
+     */
+    private void initializeServices(BiFunction<PlayActor, MusicCache, TrackOrchestrator> defaultTrackOrchestratorFunction, TidalApiClient tidalApi, @Nullable UsersResourceObject currentUser) {
+        TidalApiSingleton.setTidalApi(tidalApi);
+
+        var negativeSearchCache = new NegativeSearchCache(tidalConfig.getNegativeSearchTtl(), tidalConfig.getCacheMaxEntries(), tidalConfig.getCacheEvictionPolicy(), tidalConfig.getDatabaseLookupChunkSize());
+
+        // Runs background work, such as loading playlists
+        fetchExecutor = new BoundedExecutor(tidalConfig.getExecutionMode(), "tidal-fetch-", tidalConfig.getMaxConcurrentFetches());
 
-            musicFetcher = new TidalMusicFetcher("US", tidalApi, authorizer.getCurrentUser().orElseThrow());
-            musicCache = new TidalMusicCache(musicFetcher);
-            playActor = new DefaultRoutablePlayActor(new ConsolePlayActor());
-            trackOrchestrator = defaultTrackOrchestratorFunction.apply(playActor, musicCache);
-            musicTypeConverter = new TidalMusicTypeConverter(musicCache);
+        // Sends API requests and handles their responses as they arrive
+        apiExecutor = tidalConfig.getExecutionMode().createExecutor("tidal-api-");
+        apiServices = fakeApiServer != null
+                ? new TidalApiServices(tidalApi, tidalConfig, apiExecutor, fakeApiServer.getBaseUrl(), false)
+                : new TidalApiServices(tidalApi, tidalConfig, apiExecutor);
+
+        var rateLimiter = new AdaptiveRateLimiter(tidalConfig.getRateLimit(), tidalConfig.getRateLimitMax());
+
+        HibernateUtil.setMetrics(metrics);
+
+        musicFetcher = new TidalMusicFetcher("US", apiServices, currentUser, tidalConfig, rateLimiter, apiExecutor, metrics);
+        musicCache = new TidalMusicCache(musicFetcher, tidalConfig, negativeSearchCache, fetchExecutor, metrics);
+
+        var maxConcurrentFetches = Math.max(1, tidalConfig.getMaxConcurrentFetches());
+        metrics.registerGauge("tidal_api_rate_limit_per_second", "API requests per second currently allowed by the rate limiter", rateLimiter::getRate);
+        metrics.registerGauge("tidal_fetch_tasks_running", "Fetch tasks currently holding one of the concurrent fetch slots", () -> maxConcurrentFetches - fetchExecutor.availableSlots());
+        metrics.registerGauge("tidal_cache_loads_in_flight", "Cache lookups currently loading from the database or API", musicCache::getInFlightLoadCount);
+
+        if (tidalConfig.isAdminServerEnabled()) {
+            startAdminServer();
+        }
+        playActor = new DefaultRoutablePlayActor(new ConsolePlayActor());
+        trackOrchestrator = defaultTrackOrchestratorFunction.apply(playActor, musicCache);
+        musicTypeConverter = new TidalMusicTypeConverter(musicCache);
+
+        serviceProviderInstance = this;
+    }
+
+    /**
+     * Starts the admin server with health checks of the database connection and the access token. The admin server is
+     * only for monitoring, so failing to start it is logged rather than failing initialization.
+     */
+    private void startAdminServer() {
+        var healthChecks = new LinkedHashMap<String, HealthCheck>();
+        healthChecks.put("database", () -> HibernateUtil.isConnectionValid(Duration.ofSeconds(2))
+                ? HealthCheck.Result.healthy("Connection is valid")
+                : HealthCheck.Result.unhealthy("Connection is not valid"));
+        healthChecks.put("token", () -> {
+            if (authorizer == null) {
+                return HealthCheck.Result.healthy("No authorization needed");
+            }
 
-            serviceProviderInstance = this;
+            return authorizer.isTokenValid()
+                    ? HealthCheck.Result.healthy("Access token is valid")
+                    : HealthCheck.Result.unhealthy("Access token is missing or expired");
         });
+
+        try {
+            adminServer = new AdminServer(metrics, healthChecks, tidalConfig.getExecutionMode(), tidalConfig.getAdminServerPort());
+        } catch (IOException e) {
+            LOGGER.error("Failed to start the Tidal admin server on port {}", tidalConfig.getAdminServerPort(), e);
+        }
     }
 
     @Override
     public void shutdown() {
-        authorizer.shutdown();
+        if (adminServer != null) {
+            adminServer.close();
+        }
+
+        if (authorizer != null) {
+            authorizer.shutdown();
+        }
+
+        if (fetchExecutor != null) {
+            fetchExecutor.close();
+        }
+
+        if (apiServices != null) {
+            apiServices.shutdown();
+        }
+
+        if (apiExecutor != null) {
+            apiExecutor.shutdownNow();
+        }
+
+        if (fakeApiServer != null) {
+            fakeApiServer.close();
+        }
+
+        HibernateUtil.setMetrics(null);
 
         if (TidalApiSingleton.getTidalApi() != null) {
             TidalApiSingleton.getTidalApi().shutdown();
         }
     }
 
+    /**
+     * The metrics of this provider's cache, API requests, and database transactions.
+     *
+     * @return The provider's metrics
+     */
+    public TidalMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public String getName() {
         return "Tidal";
@@ -130,7 +263,10 @@ public class TidalServiceProvider implements ServiceProvider {
     private void initConfig() {
         packageConfig.loadConfig();
 
-        var requiredOptions = List.of("clientId", "redirectUri", "dbUrl", "dbUsername", "dbPassword");
+        // Replaying traffic or using the fake API needs no credentials
+        var requiredOptions = tidalConfig.getTrafficMode() == TrafficMode.REPLAY || tidalConfig.isFakeApiServerEnabled()
+                ? List.of("dbUrl", "dbUsername", "dbPassword")
+                : List.of("clientId", "redirectUri", "dbUrl", "dbUsername", "dbPassword");
         var allFound = true;
 
         for (var option : requiredOptions) {
@@ -144,7 +280,7 @@ public class TidalServiceProvider implements ServiceProvider {
             throw new ConfigInitializeException("Tidal config is missing required options, aborting");
         }
 
-        HibernateUtil.initializeSessionFactory(packageConfig.getOrThrow("dbUrl"), packageConfig.getOrThrow("dbUsername"), packageConfig.getOrThrow("dbPassword"));
+        HibernateUtil.initializeSessionFactory(packageConfig.getOrThrow("dbUrl"), packageConfig.getOrThrow("dbUsername"), packageConfig.getOrThrow("dbPassword"), tidalConfig.getDatabaseBatchSize());
     }
 
     public static ServiceProvider getServiceProviderInstance() {
@@ -12,6 +12,7 @@ module qilletni.lib.tidal.main {
     requires org.jetbrains.annotations;
     requires jdk.httpserver;
     requires retrofit2;
+    requires okhttp3;
     requires kotlinx.coroutines.core;
     requires java.naming;
     requires java.sql;
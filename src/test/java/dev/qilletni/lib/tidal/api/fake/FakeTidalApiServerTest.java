@@ -0,0 +1,158 @@
+package dev.qilletni.lib.tidal.api.fake;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.qilletni.lib.tidal.api.helper.PageCursors;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FakeTidalApiServerTest {
+
+    private static final FakeCatalog CATALOG = FakeCatalog.generate(20, 1, 5, 0);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void servesCatalogResources() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(0, 0), 0)) {
+            var response = get(server, "tracks/" + CATALOG.getAlbum("al0").trackIds().getFirst());
+
+            assertEquals(200, response.statusCode());
+            assertEquals("tracks", parse(response).getAsJsonObject("data").get("type").getAsString());
+        }
+    }
+
+    @Test
+    void unknownResourcesAreNotFound() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(0, 0), 0)) {
+            var response = get(server, "tracks/unknown");
+
+            assertEquals(404, response.statusCode());
+            assertEquals("NOT_FOUND", getErrorCode(response));
+        }
+    }
+
+    @Test
+    void throttledRequestsHaveRetryAfter() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(0, 1), 0)) {
+            var response = get(server, "tracks/unknown");
+
+            assertEquals(429, response.statusCode());
+            assertEquals(Optional.of("1"), response.headers().firstValue("Retry-After"));
+            assertEquals("TOO_MANY_REQUESTS", getErrorCode(response));
+            assertEquals(1, server.getThrottledCount());
+        }
+    }
+
+    @Test
+    void injectedErrorsAreInternalServerErrors() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(1, 0), 0)) {
+            var response = get(server, "tracks/unknown");
+
+            assertEquals(500, response.statusCode());
+            assertEquals(Optional.of("application/vnd.api+json"), response.headers().firstValue("Content-Type"));
+            assertEquals("INTERNAL_SERVER_ERROR", getErrorCode(response));
+            assertEquals(1, server.getErrorCount());
+        }
+    }
+
+    @Test
+    void multiGetIncludesAlbumsAndArtists() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(0, 0), 0)) {
+            var response = get(server, "tracks?filter%5Bid%5D=tr0,tr15");
+
+            assertEquals(200, response.statusCode());
+
+            var document = parse(response);
+            assertEquals(List.of("tracks:tr0", "tracks:tr15"), getResourceKeys(document.getAsJsonArray("data")));
+            assertEquals(Set.of("albums:al0", "albums:al1", "artists:ar0"), Set.copyOf(getResourceKeys(document.getAsJsonArray("included"))));
+        }
+    }
+
+    @Test
+    void searchFindsTracksByTitleAndArtist() throws Exception {
+        try (var server = new FakeTidalApiServer(CATALOG, settings(0, 0), 0)) {
+            var response = get(server, "searchResults/" + URLEncoder.encode("track 3 artist 0", StandardCharsets.UTF_8).replace("+", "%20"));
+
+            assertEquals(200, response.statusCode());
+
+            var relationships = parse(response).getAsJsonObject("data").getAsJsonObject("relationships");
+            assertEquals(List.of("tracks:tr3"), getResourceKeys(relationships.getAsJsonObject("tracks").getAsJsonArray("data")));
+            assertEquals(List.of(), getResourceKeys(relationships.getAsJsonObject("albums").getAsJsonArray("data")));
+        }
+    }
+
+    @Test
+    void relationshipPagesFollowNextLinks() throws Exception {
+        var catalog = FakeCatalog.generate(20, 1, 25, 0);
+        var playlist = catalog.getPlaylist(catalog.getPlaylistIds().getFirst());
+
+        try (var server = new FakeTidalApiServer(catalog, settings(0, 0), 0)) {
+            var readTrackIds = new ArrayList<String>();
+            var pages = 0;
+            Optional<String> cursor = Optional.empty();
+
+            do {
+                var path = "playlists/" + playlist.id() + "/relationships/items" + cursor.map(next -> "?page%5Bcursor%5D=" + next).orElse("");
+                var document = parse(get(server, path));
+                pages++;
+
+                for (var identifier : document.getAsJsonArray("data")) {
+                    readTrackIds.add(identifier.getAsJsonObject().get("id").getAsString());
+                }
+
+                var next = document.getAsJsonObject("links").get("next");
+                cursor = PageCursors.nextCursor(next == null ? null : next.getAsString());
+            } while (cursor.isPresent());
+
+            // 25 items over pages of 10
+            assertEquals(3, pages);
+            assertEquals(playlist.trackIds(), readTrackIds);
+        }
+    }
+
+    private static FakeTidalApiServer.Settings settings(double errorRate, double throttleRate) {
+        return new FakeTidalApiServer.Settings(Duration.ZERO, errorRate, throttleRate, Duration.ofSeconds(1), 10);
+    }
+
+    private HttpResponse<String> get(FakeTidalApiServer server, String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonObject parse(HttpResponse<String> response) {
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+
+    private static List<String> getResourceKeys(JsonArray resources) {
+        var keys = new ArrayList<String>();
+        for (var resource : resources) {
+            var object = resource.getAsJsonObject();
+            keys.add(object.get("type").getAsString() + ":" + object.get("id").getAsString());
+        }
+
+        return keys;
+    }
+
+    private static String getErrorCode(HttpResponse<String> response) {
+        return parse(response).getAsJsonArray("errors").get(0).getAsJsonObject().get("code").getAsString();
+    }
+}
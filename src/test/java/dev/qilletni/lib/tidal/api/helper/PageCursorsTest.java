@@ -0,0 +1,36 @@
+package dev.qilletni.lib.tidal.api.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PageCursorsTest {
+
+    @Test
+    void readsCursorFromNextLink() {
+        assertEquals(Optional.of("abc"), PageCursors.nextCursor("/playlists/123/relationships/items?countryCode=US&page[cursor]=abc"));
+        assertEquals(Optional.of("abc"), PageCursors.nextCursor("/albums/1/relationships/items?page[cursor]=abc&countryCode=US"));
+    }
+
+    @Test
+    void decodesEncodedNamesAndCursors() {
+        assertEquals(Optional.of("abc"), PageCursors.nextCursor("/playlists/123/relationships/items?page%5Bcursor%5D=abc"));
+        assertEquals(Optional.of("a/b+c="), PageCursors.nextCursor("/playlists/123/relationships/items?page[cursor]=a%2Fb%2Bc%3D"));
+    }
+
+    @Test
+    void ignoresOtherParameters() {
+        assertEquals(Optional.of("abc"), PageCursors.nextCursor("/items?flag&page[size]=20&cursor=wrong&page[cursor]=abc"));
+    }
+
+    @Test
+    void emptyWithoutCursor() {
+        assertEquals(Optional.empty(), PageCursors.nextCursor(null));
+        assertEquals(Optional.empty(), PageCursors.nextCursor(""));
+        assertEquals(Optional.empty(), PageCursors.nextCursor("/playlists/123/relationships/items"));
+        assertEquals(Optional.empty(), PageCursors.nextCursor("/playlists/123/relationships/items?countryCode=US"));
+        assertEquals(Optional.empty(), PageCursors.nextCursor("/playlists/123/relationships/items?page[cursor]="));
+    }
+}
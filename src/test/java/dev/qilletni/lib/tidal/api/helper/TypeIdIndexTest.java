@@ -0,0 +1,67 @@
+package dev.qilletni.lib.tidal.api.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TypeIdIndexTest {
+
+    private interface Resource {
+        String id();
+    }
+
+    private record Artist(String id, String name) implements Resource {}
+
+    private record Album(String id, String name) implements Resource {}
+
+    private record Track(String id, String name) implements Resource {}
+
+    @Test
+    void typesSharingAnIdDoNotCollide() {
+        var artist = new Artist("1", "artist");
+        var album = new Album("1", "album");
+        var track = new Track("1", "track");
+
+        var index = new TypeIdIndex<Resource>(List.of(artist, album, track), Resource::id);
+
+        assertSame(artist, index.find("1", Artist.class));
+        assertSame(album, index.find("1", Album.class));
+        assertSame(track, index.find("1", Track.class));
+    }
+
+    @Test
+    void interleavedTypesAreIndexed() {
+        var firstArtist = new Artist("1", "first");
+        var album = new Album("2", "album");
+        var secondArtist = new Artist("3", "second");
+
+        var index = new TypeIdIndex<Resource>(List.of(firstArtist, album, secondArtist), Resource::id);
+
+        assertSame(firstArtist, index.find("1", Artist.class));
+        assertSame(secondArtist, index.find("3", Artist.class));
+        assertSame(album, index.find("2", Album.class));
+    }
+
+    @Test
+    void firstDuplicateIsKept() {
+        var first = new Artist("1", "first");
+        var duplicate = new Artist("1", "duplicate");
+
+        var index = new TypeIdIndex<Resource>(List.of(first, duplicate), Resource::id);
+
+        assertSame(first, index.find("1", Artist.class));
+    }
+
+    @Test
+    void missingTypesAndIdsAreNull() {
+        var index = new TypeIdIndex<Resource>(List.of(new Artist("1", "artist")), Resource::id);
+
+        assertNull(index.find("2", Artist.class));
+        assertNull(index.find("1", Album.class));
+        assertNull(new TypeIdIndex<Resource>(null, Resource::id).find("1", Artist.class));
+        assertNull(new TypeIdIndex<Resource>(List.of(), Resource::id).find("1", Artist.class));
+    }
+}
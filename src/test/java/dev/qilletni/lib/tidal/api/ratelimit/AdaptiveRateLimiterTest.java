@@ -0,0 +1,182 @@
+package dev.qilletni.lib.tidal.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveRateLimiterTest {
+
+    @Test
+    void parseRetryAfterSeconds() {
+        assertEquals(Optional.of(Duration.ofSeconds(5)), AdaptiveRateLimiter.parseRetryAfter("5"));
+        assertEquals(Optional.of(Duration.ofSeconds(5)), AdaptiveRateLimiter.parseRetryAfter(" 5 "));
+        assertEquals(Optional.of(Duration.ZERO), AdaptiveRateLimiter.parseRetryAfter("-3"));
+    }
+
+    @Test
+    void parseRetryAfterHttpDate() {
+        var retryAt = ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(2);
+        var delay = AdaptiveRateLimiter.parseRetryAfter(DateTimeFormatter.RFC_1123_DATE_TIME.format(retryAt)).orElseThrow();
+
+        assertTrue(delay.compareTo(Duration.ofSeconds(100)) > 0 && delay.compareTo(Duration.ofMinutes(2)) <= 0, delay::toString);
+        assertEquals(Optional.of(Duration.ZERO), AdaptiveRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    @Test
+    void parseRetryAfterMissingOrInvalid() {
+        assertEquals(Optional.empty(), AdaptiveRateLimiter.parseRetryAfter(null));
+        assertEquals(Optional.empty(), AdaptiveRateLimiter.parseRetryAfter(" "));
+        assertEquals(Optional.empty(), AdaptiveRateLimiter.parseRetryAfter("soon"));
+    }
+
+    @Test
+    void reserveQueuesRequestsBeyondTheBurst() {
+        var rateLimiter = new AdaptiveRateLimiter(10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+
+        // Each queued request waits for one more token, a tenth of a second each at 10 requests/second
+        var firstWait = rateLimiter.reserve();
+        var secondWait = rateLimiter.reserve();
+        assertTrue(firstWait > TimeUnit.MILLISECONDS.toNanos(50) && firstWait <= TimeUnit.MILLISECONDS.toNanos(100), () -> "Waited " + firstWait);
+        assertTrue(secondWait - firstWait > TimeUnit.MILLISECONDS.toNanos(50), () -> "Waited " + secondWait);
+    }
+
+    @Test
+    void reserveRefillsTokensOverTime() throws InterruptedException {
+        var rateLimiter = new AdaptiveRateLimiter(100, 100);
+
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.reserve();
+        }
+
+        // At 100 requests/second, a few tokens come back within 50ms
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals(0, rateLimiter.reserve());
+    }
+
+    @Test
+    void onThrottledPausesAndLowersTheRate() {
+        var rateLimiter = new AdaptiveRateLimiter(10, 10);
+
+        rateLimiter.onThrottled(Duration.ofSeconds(2));
+
+        assertEquals(5, rateLimiter.getRate());
+        var waitNanos = rateLimiter.reserve();
+        assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(1900), () -> "Waited " + waitNanos);
+    }
+
+    @Test
+    void onThrottledLowersTheRateOncePerPause() throws InterruptedException {
+        var rateLimiter = new AdaptiveRateLimiter(16, 16);
+
+        rateLimiter.onThrottled(Duration.ofMillis(50));
+        rateLimiter.onThrottled(Duration.ofMillis(50));
+        assertEquals(8, rateLimiter.getRate());
+
+        // Once the pause has passed, the next throttle lowers the rate again
+        TimeUnit.MILLISECONDS.sleep(60);
+        rateLimiter.onThrottled(Duration.ofMillis(50));
+        assertEquals(4, rateLimiter.getRate());
+    }
+
+    @Test
+    void concurrentThrottlesLowerTheRateOnce() throws InterruptedException {
+        var rateLimiter = new AdaptiveRateLimiter(16, 16);
+        var start = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+
+                    rateLimiter.onThrottled(Duration.ofSeconds(2));
+                });
+            }
+
+            start.countDown();
+        }
+
+        assertEquals(8, rateLimiter.getRate());
+        var waitNanos = rateLimiter.reserve();
+        assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(1900), () -> "Waited " + waitNanos);
+    }
+
+    @Test
+    void recheckReservesAgainWhilePaused() {
+        var rateLimiter = new AdaptiveRateLimiter(10, 10);
+
+        // A slot reserved before the throttle arrives during the pause
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.recheck());
+
+        rateLimiter.onThrottled(Duration.ofSeconds(2));
+
+        var recheckNanos = rateLimiter.recheck();
+        assertTrue(recheckNanos > TimeUnit.MILLISECONDS.toNanos(1900), () -> "Waited " + recheckNanos);
+    }
+
+    @Test
+    void recheckTakesOneTokenPerQueuedRequest() {
+        var rateLimiter = new AdaptiveRateLimiter(10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.reserve();
+        }
+
+        // Lowers the rate to 5 requests/second, then queues 5 requests which all arrive during the pause
+        rateLimiter.onThrottled(Duration.ofMillis(500));
+
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.reserve();
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.recheck() > 0);
+        }
+
+        // The 5 queued requests hold 5 tokens, so the next one waits for the 6th, 1.2 seconds at 5 requests/second
+        var waitNanos = rateLimiter.reserve();
+        assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(1000) && waitNanos <= TimeUnit.MILLISECONDS.toNanos(1200), () -> "Waited " + waitNanos);
+    }
+
+    @Test
+    void recheckAllowsRequestsOncePauseHasPassed() throws InterruptedException {
+        var rateLimiter = new AdaptiveRateLimiter(10, 10);
+
+        rateLimiter.onThrottled(Duration.ofMillis(20));
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        assertEquals(0, rateLimiter.recheck());
+    }
+
+    @Test
+    void onSuccessRaisesTheRateUpToTheMaximum() {
+        var rateLimiter = new AdaptiveRateLimiter(1, 2);
+
+        rateLimiter.onSuccess();
+        assertEquals(1.5, rateLimiter.getRate());
+
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.onSuccess();
+        }
+
+        assertEquals(2, rateLimiter.getRate());
+    }
+}
@@ -0,0 +1,92 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkUpsertWriterTest {
+
+    private static final Comparator<Object[]> BY_ID = Comparator.comparing(row -> (String) row[0]);
+
+    private final List<Statement> statements = new ArrayList<>();
+
+    @Test
+    void insertRowsSortsByKey() {
+        var writer = new BulkUpsertWriter(recordingConnection(), 2);
+        List<Object[]> rows = List.of(new Object[] {"c"}, new Object[] {"a"}, new Object[] {"d"}, new Object[] {"b"});
+
+        writer.insertRows("artist", List.of("id"), BY_ID, null, rows);
+
+        assertEquals(2, statements.size());
+        assertEquals(List.of("a", "b"), statements.get(0).parameters());
+        assertEquals(List.of("c", "d"), statements.get(1).parameters());
+    }
+
+    @Test
+    void insertRowsSortsJoinRowsByOwnerThenOrder() {
+        var writer = new BulkUpsertWriter(recordingConnection(), 100);
+        List<Object[]> rows = List.of(new Object[] {"t2", "a1", 0}, new Object[] {"t1", "a9", 1}, new Object[] {"t1", "a3", 0});
+
+        writer.insertRows("track_artist", List.of("owner", "element", "artistOrder"), BY_ID.thenComparingInt(row -> (Integer) row[2]), null, rows);
+
+        assertEquals(List.of("t1", "a3", 0, "t1", "a9", 1, "t2", "a1", 0), statements.getFirst().parameters());
+    }
+
+    @Test
+    void insertRowsCapsParametersPerStatement() {
+        var columns = List.of("id", "name", "album", "duration");
+        var writer = new BulkUpsertWriter(recordingConnection(), 100_000);
+        var rows = IntStream.range(0, 20_000)
+                .mapToObj(i -> new Object[] {"%05d".formatted(i), "name", "album", i})
+                .toList();
+
+        writer.insertRows("track", columns, BY_ID, null, rows);
+
+        var maxRows = BulkUpsertWriter.MAX_PARAMETERS / columns.size();
+        assertEquals(2, statements.size());
+        assertEquals(maxRows * columns.size(), statements.get(0).parameters().size());
+        assertEquals((rows.size() - maxRows) * columns.size(), statements.get(1).parameters().size());
+        assertTrue(statements.stream().allMatch(statement -> statement.parameters().size() <= BulkUpsertWriter.MAX_PARAMETERS));
+        assertEquals(rows.size(), writer.getRowsWritten());
+    }
+
+    @Test
+    void insertRowsWithNoRows() {
+        var writer = new BulkUpsertWriter(recordingConnection(), 10);
+
+        assertTrue(writer.insertRows("artist", List.of("id"), BY_ID, "id", List.of()).isEmpty());
+        assertEquals(0, writer.getStatementCount());
+    }
+
+    /**
+     * Creates a {@link Connection} that records every prepared statement, reporting each of its rows as inserted.
+     */
+    private Connection recordingConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class}, (connectionProxy, connectionMethod, connectionArgs) -> {
+            if (!connectionMethod.getName().equals("prepareStatement")) {
+                throw new UnsupportedOperationException(connectionMethod.getName());
+            }
+
+            var statement = new Statement((String) connectionArgs[0], new ArrayList<>());
+            statements.add(statement);
+
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class}, (statementProxy, method, args) -> switch (method.getName()) {
+                case "setObject" -> statement.parameters().add(args[1]);
+                case "executeUpdate" -> (int) statement.sql().chars().filter(c -> c == '(').count() - 1;
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        });
+    }
+
+    private record Statement(String sql, List<Object> parameters) {}
+}
@@ -0,0 +1,32 @@
+package dev.qilletni.lib.tidal.music;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DurationConverterTest {
+
+    @Test
+    void parsesLikeDurationParse() {
+        var durations = List.of("PT0S", "PT1H", "PT3M5S", "PT2M58S", "PT1H30M", "PT45S", "PT1H0M0S", "PT100M", "PT3600S",
+                "PT3.5S", "PT0.999S", "PT1M0.5S", "pt2m58s", "-PT5S", "+PT5S", "P1DT2H", "P2D", "PT-5S", "PT2147483647S");
+
+        for (var duration : durations) {
+            assertEquals((int) Duration.parse(duration).getSeconds(), DurationConverter.parseDurationToSeconds(duration), duration);
+        }
+    }
+
+    @Test
+    void invalidDurationsAreNegative() {
+        var durations = List.of("", "invalid", "PT", "P", "PTS", "PT5", "PT5X", "PT1S1M", "PT1M1M", "PTM5S", "2M58S", "T2M58S");
+
+        for (var duration : durations) {
+            assertEquals(-1, DurationConverter.parseDurationToSeconds(duration), duration);
+        }
+
+        assertEquals(-1, DurationConverter.parseDurationToSeconds(null));
+    }
+}
@@ -0,0 +1,116 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncHelperTest {
+
+    /**
+     * Gets the results with a timeout, as a stack overflow in a completion callback leaves them incomplete forever.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void mapBoundedHandlesManyCompletedFutures() throws Exception {
+        var inputs = IntStream.range(0, 10_000).boxed().toList();
+
+        var results = await(AsyncHelper.mapBounded(inputs, 4, input -> CompletableFuture.completedFuture(input * 2)));
+
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(i * 2, results.get(i));
+        }
+    }
+
+    @Test
+    void mapBoundedHandlesManyThrowingMappers() {
+        var inputs = IntStream.range(0, 10_000).boxed().toList();
+        var mapped = new AtomicInteger();
+
+        var results = AsyncHelper.<Integer, Integer>mapBounded(inputs, 4, input -> {
+            mapped.incrementAndGet();
+            throw new IllegalStateException("Failed " + input);
+        });
+
+        var exception = assertThrows(ExecutionException.class, () -> await(results));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+
+        // A failed input doesn't stop the remaining inputs from being started
+        assertEquals(inputs.size(), mapped.get());
+    }
+
+    @Test
+    void mapBoundedLimitsPendingResults() {
+        var pending = new ArrayList<CompletableFuture<Integer>>();
+
+        var results = AsyncHelper.mapBounded(List.of(0, 1, 2, 3, 4), 2, input -> {
+            var future = new CompletableFuture<Integer>();
+            pending.add(future);
+            return future;
+        });
+
+        assertEquals(2, pending.size());
+
+        // Completing a pending result starts the next input on the completing thread
+        pending.get(1).complete(1);
+        assertEquals(3, pending.size());
+
+        pending.get(0).complete(0);
+        pending.get(2).complete(2);
+        assertEquals(5, pending.size());
+        assertFalse(results.isDone());
+
+        pending.get(4).complete(4);
+        pending.get(3).complete(3);
+
+        assertTrue(results.isDone());
+        assertEquals(List.of(0, 1, 2, 3, 4), results.join());
+    }
+
+    @Test
+    void mapBoundedHandlesMixedCompletion() throws Exception {
+        var inputs = IntStream.range(0, 10_000).boxed().toList();
+        var pending = new ArrayList<CompletableFuture<Integer>>();
+
+        // Every hundredth input waits, the rest are already complete
+        var results = AsyncHelper.mapBounded(inputs, 3, input -> {
+            if (input % 100 != 0) {
+                return CompletableFuture.completedFuture(input);
+            }
+
+            var future = new CompletableFuture<Integer>();
+            pending.add(future);
+            return future;
+        });
+
+        var completed = 0;
+        while (completed < pending.size()) {
+            var future = pending.get(completed++);
+            future.complete((completed - 1) * 100);
+        }
+
+        assertEquals(inputs, await(results));
+    }
+
+    @Test
+    void mapBoundedWithNoInputs() {
+        var results = AsyncHelper.<Integer, Integer>mapBounded(List.of(), 4, CompletableFuture::completedFuture);
+
+        assertEquals(List.of(), results.join());
+    }
+}
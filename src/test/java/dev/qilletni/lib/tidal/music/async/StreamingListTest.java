@@ -0,0 +1,133 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingListTest {
+
+    @Test
+    void getReturnsAppendedElementsBeforeCompletion() {
+        var list = new StreamingList<String>();
+        list.append(List.of("a", "b"));
+
+        assertEquals("b", list.get(1));
+        assertEquals(2, list.availableSize());
+        assertFalse(list.isComplete());
+    }
+
+    @Test
+    void getWaitsForElementsToBeAppended() throws Exception {
+        var list = new StreamingList<String>();
+        var reader = CompletableFuture.supplyAsync(() -> list.get(2));
+
+        list.append(List.of("a", "b"));
+        Thread.sleep(20);
+        assertFalse(reader.isDone());
+
+        list.append(List.of("c"));
+        assertEquals("c", reader.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sizeWaitsForCompletion() throws Exception {
+        var list = new StreamingList<String>();
+        var size = CompletableFuture.supplyAsync(list::size);
+
+        list.append(List.of("a"));
+        Thread.sleep(20);
+        assertFalse(size.isDone());
+
+        list.append(List.of("b"));
+        list.complete();
+        assertEquals(2, size.get(10, TimeUnit.SECONDS));
+        assertTrue(list.isComplete());
+    }
+
+    @Test
+    void isEmptyOnlyWaitsForTheFirstBatch() throws Exception {
+        var list = new StreamingList<String>();
+        var empty = CompletableFuture.supplyAsync(list::isEmpty);
+
+        Thread.sleep(20);
+        assertFalse(empty.isDone());
+
+        list.append(List.of("a"));
+        assertFalse(empty.get(10, TimeUnit.SECONDS));
+        assertFalse(list.isComplete());
+    }
+
+    @Test
+    void isEmptyOnceCompletedWithoutElements() {
+        var list = new StreamingList<String>();
+        list.complete();
+
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void iterationReadsWhileProducing() throws Exception {
+        var list = new StreamingList<Integer>();
+        var reader = CompletableFuture.supplyAsync(() -> {
+            var read = new ArrayList<Integer>();
+            list.forEach(read::add);
+            return read;
+        });
+
+        for (int i = 0; i < 100; i += 10) {
+            list.append(IntStream.range(i, i + 10).boxed().toList());
+        }
+
+        list.complete();
+
+        assertEquals(IntStream.range(0, 100).boxed().toList(), reader.get(10, TimeUnit.SECONDS));
+        assertEquals(4950, list.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void getPastTheEndOfACompleteList() {
+        var list = new StreamingList<String>();
+        list.append(List.of("a"));
+        list.complete();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    void failureIsThrownToWaitingReaders() {
+        var list = new StreamingList<String>();
+        var failure = new IllegalStateException("fetch failed");
+
+        list.append(List.of("a"));
+        list.fail(failure);
+
+        // Elements appended before the failure can still be read
+        assertEquals("a", list.get(0));
+
+        var exception = assertThrows(RuntimeException.class, () -> list.get(1));
+        assertSame(failure, exception.getCause());
+
+        var iterator = list.iterator();
+        assertEquals("a", iterator.next());
+        assertSame(failure, assertThrows(RuntimeException.class, iterator::hasNext).getCause());
+    }
+
+    @Test
+    void appendAfterFinishingFails() {
+        var list = new StreamingList<String>();
+        list.complete();
+
+        assertThrows(IllegalStateException.class, () -> list.append(List.of("a")));
+    }
+}
@@ -0,0 +1,123 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityCacheTest {
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() throws InterruptedException {
+        var cache = new EntityCache<Integer>("test", 20, Duration.ZERO, EvictionPolicy.LRU);
+
+        for (int i = 0; i < 20; i++) {
+            cache.put(String.valueOf(i), i);
+            Thread.sleep(1);
+        }
+
+        cache.get("0");
+        cache.get("1");
+        cache.put("20", 20);
+
+        // Trimmed to 19 entries, dropping the two oldest entries that weren't read again
+        assertEquals(19, cache.size());
+        assertEquals(Optional.empty(), cache.get("2"));
+        assertEquals(Optional.empty(), cache.get("3"));
+        assertEquals(Optional.of(0), cache.get("0"));
+        assertEquals(Optional.of(1), cache.get("1"));
+        assertEquals(Optional.of(20), cache.get("20"));
+    }
+
+    @Test
+    void lfuEvictsLeastFrequentlyUsed() {
+        var cache = new EntityCache<Integer>("test", 20, Duration.ZERO, EvictionPolicy.LFU);
+
+        for (int i = 0; i < 20; i++) {
+            cache.put(String.valueOf(i), i);
+        }
+
+        IntStream.range(0, 20)
+                .filter(i -> i != 5 && i != 6)
+                .forEach(i -> cache.get(String.valueOf(i)));
+
+        cache.put("20", 20);
+
+        // Only entries that were never read may be evicted
+        assertEquals(19, cache.size());
+        var neverRead = Set.of("5", "6", "20");
+        IntStream.range(0, 20)
+                .mapToObj(String::valueOf)
+                .filter(id -> !neverRead.contains(id))
+                .forEach(id -> assertTrue(cache.get(id).isPresent(), id));
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() throws InterruptedException {
+        var cache = new EntityCache<String>("test", 10, Duration.ofMillis(50), EvictionPolicy.LRU);
+
+        cache.put("a", "value");
+        assertEquals(Optional.of("value"), cache.get("a"));
+
+        Thread.sleep(80);
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictionDropsExpiredEntriesFirst() throws InterruptedException {
+        var cache = new EntityCache<String>("test", 3, Duration.ofMillis(50), EvictionPolicy.LFU);
+
+        cache.put("a", "a");
+        cache.put("b", "b");
+        Thread.sleep(80);
+
+        cache.put("c", "c");
+        cache.put("d", "d");
+
+        assertEquals(2, cache.size());
+        assertEquals(Optional.of("c"), cache.get("c"));
+        assertEquals(Optional.of("d"), cache.get("d"));
+    }
+
+    @Test
+    void zeroTtlNeverExpires() throws InterruptedException {
+        var cache = new EntityCache<String>("test", 10, Duration.ZERO, EvictionPolicy.LRU);
+
+        cache.put("a", "value");
+        Thread.sleep(20);
+
+        assertEquals(Optional.of("value"), cache.get("a"));
+    }
+
+    @Test
+    void zeroMaximumSizeCachesNothing() {
+        var cache = new EntityCache<String>("test", 0, Duration.ZERO, EvictionPolicy.LRU);
+
+        cache.put("a", "value");
+
+        assertEquals(0, cache.size());
+        assertEquals(Optional.empty(), cache.get("a"));
+    }
+
+    @Test
+    void invalidateRemovesEntries() {
+        var cache = new EntityCache<String>("test", 10, Duration.ZERO, EvictionPolicy.LRU);
+
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.invalidate("a");
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertEquals(Optional.of("b"), cache.get("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,129 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        var singleFlight = new SingleFlight();
+        var loads = new AtomicInteger();
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+        var result = new Object();
+
+        var first = executor.submit(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return result;
+        }));
+
+        await(loadStarted);
+
+        var waiters = new ArrayList<Future<Object>>();
+        for (int i = 1; i < CALLERS; i++) {
+            waiters.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return new Object();
+            })));
+        }
+
+        // Give the waiters time to join the in-flight load before it finishes
+        Thread.sleep(50);
+        assertEquals(1, singleFlight.inFlightCount());
+        releaseLoad.countDown();
+
+        assertSame(result, first.get(10, TimeUnit.SECONDS));
+        for (var waiter : waiters) {
+            assertSame(result, waiter.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void waitersReceiveTheLoaderException() throws Exception {
+        var singleFlight = new SingleFlight();
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+
+        var first = executor.submit(() -> singleFlight.<Object>execute("key", () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            throw new IllegalStateException("load failed");
+        }));
+
+        await(loadStarted);
+        var waiter = executor.submit(() -> singleFlight.execute("key", Object::new));
+
+        Thread.sleep(50);
+        releaseLoad.countDown();
+
+        var firstException = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, firstException.getCause());
+
+        // The waiter either joined the failed load, or ran its own load if it arrived after the failure
+        try {
+            waiter.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertSame(firstException.getCause(), e.getCause());
+        }
+
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void resultsAreNotKeptAfterTheLoad() {
+        var singleFlight = new SingleFlight();
+        var loads = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("key", loads::incrementAndGet));
+        assertEquals(2, singleFlight.execute("key", loads::incrementAndGet));
+    }
+
+    @Test
+    void differentKeysLoadIndependently() {
+        var singleFlight = new SingleFlight();
+
+        var nested = singleFlight.execute("outer", () -> singleFlight.execute("inner", () -> "inner") + " in outer");
+
+        assertEquals("inner in outer", nested);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}